@@ -12,7 +12,6 @@ import com.zenfulcode.commercify.auth.domain.model.AuthenticatedUser;
 import com.zenfulcode.commercify.shared.interfaces.ApiResponse;
 import com.zenfulcode.commercify.user.application.dto.response.UserProfileResponse;
 import com.zenfulcode.commercify.user.application.service.UserApplicationService;
-import com.zenfulcode.commercify.user.domain.model.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -63,11 +62,10 @@ public class AuthController {
         // Validate token through the application service
         AuthenticatedUser authenticatedUser = authService.validateAccessToken(token);
 
-        // Fetch full user entity from the database
-        User user = userApplicationService.getUser(authenticatedUser.getUserId());
-
-        // Map to response DTO
-        UserProfileResponse response = UserProfileResponse.fromUser(user);
+        // Fetch full user entity from the database; guests may not have one yet
+        UserProfileResponse response = userApplicationService.findUser(authenticatedUser.getUserId())
+                .map(UserProfileResponse::fromUser)
+                .orElseGet(() -> UserProfileResponse.fromAuthenticatedUser(authenticatedUser));
 
         return ResponseEntity.ok(ApiResponse.success(response));
     }
@@ -12,7 +12,14 @@ public record AuthResponse(
         return new AuthResponse(
                 result.accessToken(),
                 result.refreshToken(),
-                UserProfileResponse.fromUser(result.userInfo())
+                profileOf(result)
         );
     }
+
+    // Guest sessions have no user row until they place an order
+    private static UserProfileResponse profileOf(AuthenticationResult result) {
+        return result.userInfo() != null
+                ? UserProfileResponse.fromUser(result.userInfo())
+                : UserProfileResponse.fromAuthenticatedUser(result.user());
+    }
 }
\ No newline at end of file
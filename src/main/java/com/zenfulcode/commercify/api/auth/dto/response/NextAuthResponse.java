@@ -16,7 +16,7 @@ public record NextAuthResponse(
     public static NextAuthResponse from(AuthenticationResult result) {
         AuthenticatedUser user = result.user();
         return new NextAuthResponse(
-                UserProfileResponse.fromUser(result.userInfo()),
+                profileOf(result),
                 result.accessToken(),
                 result.refreshToken(),
                 user.getRoles()
@@ -31,4 +31,11 @@ public record NextAuthResponse(
                 user.getRoles()
         );
     }
+
+    // Guest sessions have no user row until they place an order
+    private static UserProfileResponse profileOf(AuthenticationResult result) {
+        return result.userInfo() != null
+                ? UserProfileResponse.fromUser(result.userInfo())
+                : UserProfileResponse.fromAuthenticatedUser(result.user());
+    }
 }
\ No newline at end of file
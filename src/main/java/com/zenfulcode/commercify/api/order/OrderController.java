@@ -2,6 +2,7 @@ package com.zenfulcode.commercify.api.order;
 
 import com.zenfulcode.commercify.api.order.dto.request.CreateOrderRequest;
 import com.zenfulcode.commercify.api.order.dto.response.CreateOrderResponse;
+import com.zenfulcode.commercify.api.order.dto.response.CursorOrderResponse;
 import com.zenfulcode.commercify.api.order.dto.response.OrderDetailsResponse;
 import com.zenfulcode.commercify.api.order.dto.response.PagedOrderResponse;
 import com.zenfulcode.commercify.api.order.mapper.OrderDtoMapper;
@@ -10,18 +11,21 @@ import com.zenfulcode.commercify.order.application.command.CancelOrderCommand;
 import com.zenfulcode.commercify.order.application.command.CreateOrderCommand;
 import com.zenfulcode.commercify.order.application.command.GetOrderByIdCommand;
 import com.zenfulcode.commercify.order.application.dto.OrderDetailsDTO;
+import com.zenfulcode.commercify.order.application.dto.OrderSummaryDTO;
+import com.zenfulcode.commercify.order.application.query.FindAllOrdersAfterQuery;
 import com.zenfulcode.commercify.order.application.query.FindAllOrdersQuery;
 import com.zenfulcode.commercify.order.application.query.FindOrdersByUserIdQuery;
 import com.zenfulcode.commercify.order.application.service.OrderApplicationService;
 import com.zenfulcode.commercify.order.domain.exception.UnauthorizedOrderCreationException;
 import com.zenfulcode.commercify.order.domain.exception.UnauthorizedOrderFetchingException;
-import com.zenfulcode.commercify.order.domain.model.Order;
 import com.zenfulcode.commercify.order.domain.valueobject.OrderId;
+import com.zenfulcode.commercify.shared.domain.valueobject.PageCursor;
 import com.zenfulcode.commercify.shared.interfaces.ApiResponse;
 import com.zenfulcode.commercify.user.domain.valueobject.UserId;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -44,7 +48,7 @@ public class OrderController {
         }
 
         // Convert request to command
-        CreateOrderCommand command = orderDtoMapper.toCommand(request);
+        CreateOrderCommand command = orderDtoMapper.toCommand(request, user.isGuest());
 
         // Create order through application service
         OrderId orderId = orderApplicationService.createOrder(command);
@@ -93,7 +97,7 @@ public class OrderController {
                 PageRequest.of(page, size)
         );
 
-        Page<Order> orders = orderApplicationService.findOrdersByUserId(query);
+        Page<OrderSummaryDTO> orders = orderApplicationService.findOrdersByUserId(query);
         PagedOrderResponse response = orderDtoMapper.toPagedResponse(orders);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
@@ -105,12 +109,25 @@ public class OrderController {
             @RequestParam(defaultValue = "10") int size) {
         FindAllOrdersQuery query = new FindAllOrdersQuery(PageRequest.of(page, size));
 
-        Page<Order> orders = orderApplicationService.findAllOrders(query);
+        Page<OrderSummaryDTO> orders = orderApplicationService.findAllOrders(query);
         PagedOrderResponse response = orderDtoMapper.toPagedResponse(orders);
 
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping(params = "after")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<CursorOrderResponse>> getAllOrdersAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size) {
+        FindAllOrdersAfterQuery query = new FindAllOrdersAfterQuery(PageCursor.decode(after), size);
+
+        Slice<OrderSummaryDTO> orders = orderApplicationService.findAllOrders(query);
+        CursorOrderResponse response = orderDtoMapper.toCursorResponse(orders);
+
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @DeleteMapping("/{orderId}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<String>> cancelOrder(@PathVariable String orderId) {
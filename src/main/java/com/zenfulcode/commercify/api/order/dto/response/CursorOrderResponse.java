@@ -0,0 +1,11 @@
+package com.zenfulcode.commercify.api.order.dto.response;
+
+import com.zenfulcode.commercify.api.product.dto.response.CursorPageInfo;
+
+import java.util.List;
+
+public record CursorOrderResponse(
+        List<OrderSummaryResponse> items,
+        CursorPageInfo pageInfo
+) {
+}
@@ -3,19 +3,22 @@ package com.zenfulcode.commercify.api.order.mapper;
 import com.zenfulcode.commercify.api.order.dto.request.CreateOrderLineRequest;
 import com.zenfulcode.commercify.api.order.dto.request.CreateOrderRequest;
 import com.zenfulcode.commercify.api.order.dto.response.*;
+import com.zenfulcode.commercify.api.product.dto.response.CursorPageInfo;
 import com.zenfulcode.commercify.api.product.dto.response.PageInfo;
 import com.zenfulcode.commercify.order.application.command.CreateOrderCommand;
 import com.zenfulcode.commercify.order.application.command.GetOrderByIdCommand;
 import com.zenfulcode.commercify.order.application.dto.OrderDetailsDTO;
 import com.zenfulcode.commercify.order.application.dto.OrderLineDTO;
-import com.zenfulcode.commercify.order.domain.model.Order;
+import com.zenfulcode.commercify.order.application.dto.OrderSummaryDTO;
 import com.zenfulcode.commercify.order.domain.valueobject.Address;
 import com.zenfulcode.commercify.order.domain.valueobject.CustomerDetails;
 import com.zenfulcode.commercify.order.domain.valueobject.OrderLineDetails;
 import com.zenfulcode.commercify.product.domain.valueobject.ProductId;
 import com.zenfulcode.commercify.product.domain.valueobject.VariantId;
 import com.zenfulcode.commercify.user.domain.valueobject.UserId;
+import com.zenfulcode.commercify.shared.domain.valueobject.PageCursor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -23,7 +26,7 @@ import java.util.stream.Collectors;
 
 @Component
 public class OrderDtoMapper {
-    public CreateOrderCommand toCommand(CreateOrderRequest request) {
+    public CreateOrderCommand toCommand(CreateOrderRequest request, boolean guestCheckout) {
         CustomerDetails customerDetails = new CustomerDetails(
                 request.customerDetails().firstName(),
                 request.customerDetails().lastName(),
@@ -57,7 +60,8 @@ public class OrderDtoMapper {
                 customerDetails,
                 shippingAddress,
                 billingAddress,
-                orderLines
+                orderLines,
+                guestCheckout
         );
     }
 
@@ -91,7 +95,7 @@ public class OrderDtoMapper {
         );
     }
 
-    public PagedOrderResponse toPagedResponse(Page<Order> orderPage) {
+    public PagedOrderResponse toPagedResponse(Page<OrderSummaryDTO> orderPage) {
         List<OrderSummaryResponse> orders = orderPage.getContent().stream()
                 .map(this::toSummaryResponse)
                 .collect(Collectors.toList());
@@ -107,15 +111,32 @@ public class OrderDtoMapper {
         );
     }
 
-    private OrderSummaryResponse toSummaryResponse(Order order) {
+    public CursorOrderResponse toCursorResponse(Slice<OrderSummaryDTO> orderSlice) {
+        List<OrderSummaryResponse> orders = orderSlice.getContent().stream()
+                .map(this::toSummaryResponse)
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (orderSlice.hasNext()) {
+            OrderSummaryDTO last = orderSlice.getContent().get(orderSlice.getNumberOfElements() - 1);
+            nextCursor = new PageCursor(last.createdAt(), last.id().getId()).encode();
+        }
+
+        return new CursorOrderResponse(
+                orders,
+                new CursorPageInfo(orderSlice.getSize(), orderSlice.hasNext(), nextCursor)
+        );
+    }
+
+    private OrderSummaryResponse toSummaryResponse(OrderSummaryDTO order) {
         return new OrderSummaryResponse(
-                order.getId().toString(),
-                order.getUser().getId().toString(),
-                order.getOrderShippingInfo().getCustomerName(),
-                order.getStatus().toString(),
-                order.getOrderLines().size(),
-                order.getTotalAmount(),
-                order.getCreatedAt()
+                order.id().toString(),
+                order.userId().toString(),
+                order.customerName(),
+                order.status().toString(),
+                order.orderLineCount(),
+                order.totalAmount(),
+                order.createdAt()
         );
     }
 
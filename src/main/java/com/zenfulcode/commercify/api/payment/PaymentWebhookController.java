@@ -3,9 +3,9 @@ package com.zenfulcode.commercify.api.payment;
 import com.zenfulcode.commercify.api.payment.dto.request.MobilepayWebhookRegistrationRequest;
 import com.zenfulcode.commercify.payment.application.service.MobilepayWebhookService;
 import com.zenfulcode.commercify.payment.application.service.PaymentApplicationService;
+import com.zenfulcode.commercify.payment.application.service.PaymentWebhookIngestionService;
 import com.zenfulcode.commercify.payment.domain.model.PaymentProvider;
 import com.zenfulcode.commercify.payment.domain.valueobject.WebhookRequest;
-import com.zenfulcode.commercify.payment.domain.valueobject.webhook.WebhookPayload;
 import com.zenfulcode.commercify.shared.interfaces.ApiResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -24,27 +25,28 @@ import java.util.Map;
 public class PaymentWebhookController {
     private final PaymentApplicationService paymentService;
     private final MobilepayWebhookService webhookService;
+    private final PaymentWebhookIngestionService ingestionService;
 
     @PostMapping("/{provider}/callback")
     public ResponseEntity<ApiResponse<String>> handleCallback(
             @PathVariable String provider,
-            @RequestBody String body,
+            @RequestBody byte[] body,
             HttpServletRequest request
     ) {
         PaymentProvider paymentProvider = paymentService.getPaymentProvider(provider);
 
         WebhookRequest webhookRequest = WebhookRequest.builder()
-                .body(body)
+                .body(new String(body, StandardCharsets.UTF_8))
+                .rawBody(body)
                 .headers(extractHeaders(request))
                 .build();
 
         log.info("Handling webhook callback for provider: {}", provider);
 
         try {
-            WebhookPayload payload = webhookService.authenticate(paymentProvider, webhookRequest);
-            paymentService.handlePaymentCallback(paymentProvider, payload);
+            boolean queued = ingestionService.ingest(paymentProvider, webhookRequest);
 
-            return ResponseEntity.ok(ApiResponse.success("Webhook processed successfully"));
+            return ResponseEntity.ok(ApiResponse.success(queued ? "Webhook accepted" : "Webhook processed successfully"));
         } catch (Exception e) {
             log.error("Error handling webhook callback", e);
             return ResponseEntity.badRequest().body(ApiResponse.error("Error handling webhook callback", "SERVER_ERROR", 500));
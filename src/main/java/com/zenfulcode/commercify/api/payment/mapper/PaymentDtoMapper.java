@@ -1,6 +1,5 @@
 package com.zenfulcode.commercify.api.payment.mapper;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.zenfulcode.commercify.api.payment.dto.request.InitiatePaymentRequest;
 import com.zenfulcode.commercify.api.payment.dto.request.PaymentDetailsRequest;
@@ -25,6 +24,8 @@ import com.zenfulcode.commercify.payment.domain.valueobject.webhook.WebhookPaylo
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+
 @Component
 @RequiredArgsConstructor
 public class PaymentDtoMapper {
@@ -54,8 +55,11 @@ public class PaymentDtoMapper {
     //    TODO: Make more generic to support other providers
     public WebhookPayload toWebhookPayload(WebhookRequest request) {
         try {
+            if (request.rawBody() != null) {
+                return objectMapper.readValue(request.rawBody(), MobilepayWebhookPayload.class);
+            }
             return objectMapper.readValue(request.body(), MobilepayWebhookPayload.class);
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             throw new WebhookProcessingException(e.getMessage());
         }
     }
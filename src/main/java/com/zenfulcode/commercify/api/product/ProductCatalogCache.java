@@ -0,0 +1,164 @@
+package com.zenfulcode.commercify.api.product;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zenfulcode.commercify.api.product.dto.response.CursorProductResponse;
+import com.zenfulcode.commercify.api.product.dto.response.PagedProductResponse;
+import com.zenfulcode.commercify.api.product.dto.response.ProductDetailResponse;
+import com.zenfulcode.commercify.api.product.mapper.ProductDtoMapper;
+import com.zenfulcode.commercify.api.product.mapper.ProductResponseMapper;
+import com.zenfulcode.commercify.product.application.query.ProductQuery;
+import com.zenfulcode.commercify.product.application.service.ProductApplicationService;
+import com.zenfulcode.commercify.product.domain.event.*;
+import com.zenfulcode.commercify.product.domain.valueobject.ProductId;
+import com.zenfulcode.commercify.product.infrastructure.config.ProductCacheProperties;
+import com.zenfulcode.commercify.shared.domain.valueobject.PageCursor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Read-through cache of product API responses. Entries are immutable response snapshots;
+ * a product's detail entry is evicted when one of its events commits, and every listing
+ * page is dropped on any catalog change.
+ */
+@Component
+public class ProductCatalogCache {
+    private final ProductApplicationService productApplicationService;
+    private final ProductDtoMapper dtoMapper;
+    private final ProductResponseMapper responseMapper;
+    private final boolean enabled;
+
+    private final Cache<String, ProductDetailResponse> details;
+    private final Cache<PageKey, PagedProductResponse> pages;
+    private final Cache<CursorKey, CursorProductResponse> cursorPages;
+
+    public ProductCatalogCache(
+            ProductApplicationService productApplicationService,
+            ProductDtoMapper dtoMapper,
+            ProductResponseMapper responseMapper,
+            ProductCacheProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.productApplicationService = productApplicationService;
+        this.dtoMapper = dtoMapper;
+        this.responseMapper = responseMapper;
+        this.enabled = properties.isEnabled();
+
+        this.details = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(properties.getDetailsMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats()
+                .build(), "productDetails");
+        this.pages = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(properties.getListingsMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats()
+                .build(), "productPages");
+        this.cursorPages = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(properties.getListingsMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats()
+                .build(), "productCursorPages");
+    }
+
+    public ProductDetailResponse getProduct(ProductId productId) {
+        if (!enabled) {
+            return loadProduct(productId);
+        }
+        return details.get(productId.getId(), id -> loadProduct(productId));
+    }
+
+    public PagedProductResponse findProducts(boolean active, PageRequest pageRequest) {
+        if (!enabled) {
+            return loadPage(new PageKey(active, pageRequest));
+        }
+        return pages.get(new PageKey(active, pageRequest), this::loadPage);
+    }
+
+    public CursorProductResponse findProductsAfter(boolean active, PageCursor after, int size) {
+        if (!enabled) {
+            return loadCursorPage(new CursorKey(active, after, size));
+        }
+        return cursorPages.get(new CursorKey(active, after, size), this::loadCursorPage);
+    }
+
+    /**
+     * Evicts a product after a change that raises no domain event. Call after the
+     * changing transaction has committed.
+     */
+    public void evict(ProductId productId) {
+        details.invalidate(productId.getId());
+        evictListings();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductCreated(ProductCreatedEvent event) {
+        evictListings();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPriceUpdated(ProductPriceUpdatedEvent event) {
+        evict(event.getProductId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(ProductStatusChangedEvent event) {
+        evict(event.getProductId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLowStock(LowStockEvent event) {
+        evict(event.getProductId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLargeStockIncrease(LargeStockIncreaseEvent event) {
+        evict(event.getProductId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockCorrection(StockCorrectionEvent event) {
+        evict(event.getProductId());
+    }
+
+    // Orders reserve and release stock with plain conditional updates
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockLevelsChanged(StockLevelsChangedEvent event) {
+        event.productIds().forEach(productId -> details.invalidate(productId.getId()));
+        evictListings();
+    }
+
+    private void evictListings() {
+        pages.invalidateAll();
+        cursorPages.invalidateAll();
+    }
+
+    private ProductDetailResponse loadProduct(ProductId productId) {
+        return dtoMapper.toDetailResponse(productApplicationService.getProductById(productId));
+    }
+
+    private PagedProductResponse loadPage(PageKey key) {
+        return responseMapper.toPagedResponse(productApplicationService.findProducts(
+                key.active() ? ProductQuery.active() : ProductQuery.all(),
+                key.pageRequest()
+        ));
+    }
+
+    private CursorProductResponse loadCursorPage(CursorKey key) {
+        return responseMapper.toCursorResponse(productApplicationService.findProducts(
+                key.active() ? ProductQuery.active() : ProductQuery.all(),
+                key.after(),
+                key.size()
+        ));
+    }
+
+    private record PageKey(boolean active, PageRequest pageRequest) {
+    }
+
+    private record CursorKey(boolean active, PageCursor after, int size) {
+    }
+}
@@ -2,20 +2,18 @@ package com.zenfulcode.commercify.api.product;
 
 import com.zenfulcode.commercify.api.product.dto.request.*;
 import com.zenfulcode.commercify.api.product.dto.response.CreateProductResponse;
+import com.zenfulcode.commercify.api.product.dto.response.CursorProductResponse;
 import com.zenfulcode.commercify.api.product.dto.response.PagedProductResponse;
 import com.zenfulcode.commercify.api.product.dto.response.ProductDetailResponse;
 import com.zenfulcode.commercify.api.product.dto.response.UpdateProductResponse;
 import com.zenfulcode.commercify.api.product.mapper.ProductDtoMapper;
-import com.zenfulcode.commercify.api.product.mapper.ProductResponseMapper;
 import com.zenfulcode.commercify.product.application.command.*;
-import com.zenfulcode.commercify.product.application.query.ProductQuery;
 import com.zenfulcode.commercify.product.application.service.ProductApplicationService;
-import com.zenfulcode.commercify.product.domain.model.Product;
 import com.zenfulcode.commercify.product.domain.valueobject.ProductId;
+import com.zenfulcode.commercify.shared.domain.valueobject.PageCursor;
 import com.zenfulcode.commercify.shared.interfaces.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
@@ -30,7 +28,7 @@ import org.springframework.web.bind.annotation.*;
 public class ProductController {
     private final ProductApplicationService productApplicationService;
     private final ProductDtoMapper dtoMapper;
-    private final ProductResponseMapper responseMapper;
+    private final ProductCatalogCache productCatalogCache;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -55,8 +53,7 @@ public class ProductController {
     @GetMapping("/{productId}")
     public ResponseEntity<ApiResponse<ProductDetailResponse>> getProduct(
             @PathVariable String productId) {
-        Product product = productApplicationService.getProductById(ProductId.of(productId));
-        ProductDetailResponse response = dtoMapper.toDetailResponse(product);
+        ProductDetailResponse response = productCatalogCache.getProduct(ProductId.of(productId));
 
         return ResponseEntity.ok(ApiResponse.success(response));
     }
@@ -72,12 +69,21 @@ public class ProductController {
         Sort.Direction direction = Sort.Direction.fromString(sortDirection.toUpperCase());
         PageRequest pageRequest = PageRequest.of(page, size, Sort.by(direction, sortBy));
 
-        Page<Product> products = productApplicationService.findProducts(
-                active ? ProductQuery.active() : ProductQuery.all(),
-                pageRequest
-        );
+        PagedProductResponse response = productCatalogCache.findProducts(active, pageRequest);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    /**
+     * Keyset pagination, selected by passing {@code after} (empty for the first page).
+     * Newest first, no total count; follow {@code pageInfo.nextCursor} for the next page.
+     */
+    @GetMapping(params = "after")
+    public ResponseEntity<ApiResponse<CursorProductResponse>> getProductsAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "true") boolean active) {
 
-        PagedProductResponse response = responseMapper.toPagedResponse(products);
+        CursorProductResponse response = productCatalogCache.findProductsAfter(active, PageCursor.decode(after), size);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
@@ -89,6 +95,7 @@ public class ProductController {
 
         UpdateProductCommand command = dtoMapper.toCommand(ProductId.of(productId), request);
         productApplicationService.updateProduct(command);
+        productCatalogCache.evict(command.productId());
 
         UpdateProductResponse response = new UpdateProductResponse(
                 "Product updated successfully"
@@ -105,6 +112,7 @@ public class ProductController {
 
         AdjustInventoryCommand command = dtoMapper.toCommand(ProductId.of(productId), request);
         productApplicationService.adjustInventory(command);
+        productCatalogCache.evict(command.productId());
 
         return ResponseEntity.ok(ApiResponse.success("Inventory adjusted successfully"));
     }
@@ -117,6 +125,7 @@ public class ProductController {
 
         AddProductVariantsCommand command = dtoMapper.toCommand(ProductId.of(productId), request);
         productApplicationService.addProductVariants(command);
+        productCatalogCache.evict(command.productId());
 
         return ResponseEntity.ok(ApiResponse.success("Variants added successfully"));
     }
@@ -129,6 +138,7 @@ public class ProductController {
 
         UpdateVariantPricesCommand command = dtoMapper.toCommand(ProductId.of(productId), request);
         productApplicationService.updateVariantPrices(command);
+        productCatalogCache.evict(command.productId());
 
         return ResponseEntity.ok(ApiResponse.success("Variant prices updated successfully"));
     }
@@ -160,6 +170,7 @@ public class ProductController {
     public ResponseEntity<ApiResponse<String>> deleteProduct(@PathVariable String productId) {
         DeleteProductCommand command = new DeleteProductCommand(ProductId.of(productId));
         productApplicationService.deleteProduct(command);
+        productCatalogCache.evict(command.productId());
 
         return ResponseEntity.ok(ApiResponse.success("Product deleted successfully"));
     }
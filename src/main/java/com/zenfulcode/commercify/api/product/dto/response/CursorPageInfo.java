@@ -0,0 +1,8 @@
+package com.zenfulcode.commercify.api.product.dto.response;
+
+public record CursorPageInfo(
+        int pageSize,
+        boolean hasNext,
+        String nextCursor
+) {
+}
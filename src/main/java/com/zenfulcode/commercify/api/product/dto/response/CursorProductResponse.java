@@ -0,0 +1,9 @@
+package com.zenfulcode.commercify.api.product.dto.response;
+
+import java.util.List;
+
+public record CursorProductResponse(
+        List<ProductSummaryResponse> items,
+        CursorPageInfo pageInfo
+) {
+}
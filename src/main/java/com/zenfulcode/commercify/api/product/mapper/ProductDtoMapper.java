@@ -96,11 +96,11 @@ public class ProductDtoMapper {
                                         opt.getName(),
                                         opt.getValue()
                                 ))
-                                .collect(Collectors.toList()),
+                                .toList(),
                         variant.getPrice(),
                         variant.getStock()
                 ))
-                .collect(Collectors.toList());
+                .toList();
     }
 
     public ProductDetailResponse toDetailResponse(Product product) {
@@ -1,5 +1,7 @@
 package com.zenfulcode.commercify.api.product.mapper;
 
+import com.zenfulcode.commercify.api.product.dto.response.CursorPageInfo;
+import com.zenfulcode.commercify.api.product.dto.response.CursorProductResponse;
 import com.zenfulcode.commercify.api.product.dto.response.PageInfo;
 import com.zenfulcode.commercify.api.product.dto.response.PagedProductResponse;
 import com.zenfulcode.commercify.api.product.dto.response.ProductSummaryResponse;
@@ -7,7 +9,9 @@ import com.zenfulcode.commercify.api.product.dto.response.ProductVariantSummaryR
 import com.zenfulcode.commercify.product.domain.model.Product;
 import com.zenfulcode.commercify.product.domain.model.ProductVariant;
 import com.zenfulcode.commercify.product.domain.model.VariantOption;
+import com.zenfulcode.commercify.shared.domain.valueobject.PageCursor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -34,6 +38,24 @@ public class ProductResponseMapper {
         );
     }
 
+    public CursorProductResponse toCursorResponse(Slice<Product> productSlice) {
+        List<ProductSummaryResponse> items = productSlice.getContent()
+                .stream()
+                .map(this::toSummaryResponse)
+                .toList();
+
+        String nextCursor = null;
+        if (productSlice.hasNext()) {
+            Product last = productSlice.getContent().get(productSlice.getNumberOfElements() - 1);
+            nextCursor = new PageCursor(last.getCreatedAt(), last.getId().getId()).encode();
+        }
+
+        return new CursorProductResponse(
+                items,
+                new CursorPageInfo(productSlice.getSize(), productSlice.hasNext(), nextCursor)
+        );
+    }
+
     private ProductSummaryResponse toSummaryResponse(Product product) {
         return new ProductSummaryResponse(
                 product.getId().toString(),
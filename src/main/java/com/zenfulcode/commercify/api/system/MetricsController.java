@@ -2,8 +2,11 @@ package com.zenfulcode.commercify.api.system;
 
 import com.zenfulcode.commercify.api.system.dto.MetricsRequest;
 import com.zenfulcode.commercify.api.system.dto.MetricsResponse;
+import com.zenfulcode.commercify.api.system.dto.MetricsSeriesResponse;
 import com.zenfulcode.commercify.metrics.application.MetricsApplicationService;
 import com.zenfulcode.commercify.metrics.application.dto.MetricsQuery;
+import com.zenfulcode.commercify.metrics.application.dto.MetricsSeriesQuery;
+import com.zenfulcode.commercify.metrics.domain.model.BucketInterval;
 import com.zenfulcode.commercify.shared.interfaces.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -48,6 +51,27 @@ public class MetricsController {
         return ResponseEntity.ok(ApiResponse.success(metrics));
     }
 
+    /**
+     * One call per chart instead of one scalar metrics call per bucket.
+     */
+    @GetMapping("/series")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<MetricsSeriesResponse>> getMetricsSeries(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Integer lastDays,
+            @RequestParam(defaultValue = "DAY") BucketInterval interval,
+            @RequestParam(required = false) String productCategory,
+            @RequestParam(required = false) String region) {
+
+        MetricsRequest request = new MetricsRequest(startDate, endDate, lastDays);
+        request.setProductCategory(productCategory);
+        request.setRegion(region);
+
+        MetricsSeriesResponse series = metricsService.getSeries(new MetricsSeriesQuery(MetricsQuery.of(request), interval));
+        return ResponseEntity.ok(ApiResponse.success(series));
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<MetricsResponse>> getMetricsWithFilters(
@@ -0,0 +1,13 @@
+package com.zenfulcode.commercify.api.system.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record MetricsSeriesPoint(
+        Instant bucketStart,
+        BigDecimal revenue,
+        long orderCount,
+        BigDecimal averageOrderValue,
+        long newUsers
+) {
+}
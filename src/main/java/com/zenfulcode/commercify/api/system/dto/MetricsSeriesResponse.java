@@ -0,0 +1,17 @@
+package com.zenfulcode.commercify.api.system.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.zenfulcode.commercify.metrics.domain.model.BucketInterval;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record MetricsSeriesResponse(
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+        LocalDate startDate,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+        LocalDate endDate,
+        BucketInterval interval,
+        List<MetricsSeriesPoint> points
+) {
+}
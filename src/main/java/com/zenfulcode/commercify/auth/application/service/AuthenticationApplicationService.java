@@ -3,94 +3,134 @@ package com.zenfulcode.commercify.auth.application.service;
 import com.zenfulcode.commercify.auth.application.command.LoginCommand;
 import com.zenfulcode.commercify.auth.domain.event.UserAuthenticatedEvent;
 import com.zenfulcode.commercify.auth.domain.model.AuthenticatedUser;
+import com.zenfulcode.commercify.auth.domain.model.UserRole;
 import com.zenfulcode.commercify.auth.domain.service.AuthenticationDomainService;
+import com.zenfulcode.commercify.auth.infrastructure.security.AuthenticatedUserCache;
 import com.zenfulcode.commercify.auth.infrastructure.security.TokenService;
 import com.zenfulcode.commercify.shared.domain.event.DomainEventPublisher;
-import com.zenfulcode.commercify.user.application.command.CreateUserCommand;
-import com.zenfulcode.commercify.user.application.service.UserApplicationService;
 import com.zenfulcode.commercify.user.domain.exception.UserAlreadyExistsException;
 import com.zenfulcode.commercify.user.domain.exception.UserNotFoundException;
 import com.zenfulcode.commercify.user.domain.model.User;
-import com.zenfulcode.commercify.user.domain.model.UserRole;
 import com.zenfulcode.commercify.user.domain.repository.UserRepository;
 import com.zenfulcode.commercify.user.domain.valueobject.UserId;
-import lombok.AllArgsConstructor;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Optional;
 import java.util.Set;
-import java.util.UUID;
 
 @Slf4j
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class AuthenticationApplicationService {
+    private static final String GUEST_NAME = "Guest User";
+
     private final AuthenticationManager authenticationManager;
     private final AuthenticationDomainService authenticationDomainService;
     private final UserRepository userRepository;
     private final TokenService tokenService;
     private final DomainEventPublisher eventPublisher;
-    private final UserApplicationService userApplicationService;
-
-    @Transactional
-    public AuthenticationResult authenticate(LoginCommand command) {
-        String email = command.email();
-        String password = command.password();
-
-        UserId userId;
-        if (!command.isGuest()) {
-            User user = userRepository.findByEmail(command.email()).orElseThrow(() -> new UserNotFoundException(command.email()));
-
-            userId = user.getId();
-        } else {
-            Optional<User> user = userRepository.findByEmail(command.email());
-            if (user.isPresent()) {
-                throw new UserAlreadyExistsException("There is already a user with this email");
-            }
-
-            email = "guest-" + System.currentTimeMillis() + "@commercify.com";
-            password = UUID.randomUUID().toString();
+    private final AuthenticatedUserCache authenticatedUserCache;
+    private final TransactionTemplate transactionTemplate;
 
-            CreateUserCommand createUserCommand = new CreateUserCommand(email, "Guest", "User", password, Set.of(UserRole.GUEST), null);
+    @Value("${security.jwt.stateless-validation:true}")
+    private boolean statelessValidation;
 
-            userId = userApplicationService.createUser(createUserCommand);
+    /**
+     * Not transactional: the password check can wait for a hashing slot, and no pooled
+     * connection is held meanwhile. The lookups and a rehash commit on their own, and the
+     * login event is written in a short transaction of its own.
+     */
+    public AuthenticationResult authenticate(LoginCommand command) {
+        if (command.isGuest()) {
+            return authenticateGuest(command);
         }
 
-        Authentication authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(email, password));
-        AuthenticatedUser authenticatedUser = (AuthenticatedUser) authentication.getPrincipal();
+        User user = userRepository.findByEmail(command.email()).orElseThrow(() -> new UserNotFoundException(command.email()));
 
-        User user = userApplicationService.getUser(userId);
+        Authentication authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(command.email(), command.password()));
+        AuthenticatedUser authenticatedUser = (AuthenticatedUser) authentication.getPrincipal();
 
         // Generate tokens
         String accessToken = tokenService.generateAccessToken(authenticatedUser);
         String refreshToken = tokenService.generateRefreshToken(authenticatedUser);
 
         // Publish domain event
-        eventPublisher.publish(new UserAuthenticatedEvent(this, userId, email, command.isGuest()));
+        publish(new UserAuthenticatedEvent(this, user.getId(), command.email(), false));
 
         return new AuthenticationResult(accessToken, refreshToken, authenticatedUser, user);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Guest sessions are a signed principal only: no user row, password hash or
+     * authentication manager round trip. The user row is created when the guest places
+     * an order.
+     */
+    private AuthenticationResult authenticateGuest(LoginCommand command) {
+        if (command.email() != null && userRepository.existsByEmail(command.email())) {
+            throw new UserAlreadyExistsException("There is already a user with this email");
+        }
+
+        UserId userId = UserId.generate();
+        String email = User.guestEmail(userId);
+
+        AuthenticatedUser guest = AuthenticatedUser.create(
+                userId.toString(),
+                GUEST_NAME,
+                email,
+                null,
+                Set.of(UserRole.ROLE_GUEST),
+                true,
+                true,
+                true,
+                true
+        );
+
+        String accessToken = tokenService.generateAccessToken(guest);
+        String refreshToken = tokenService.generateRefreshToken(guest);
+
+        publish(new UserAuthenticatedEvent(this, userId, email, true));
+
+        return new AuthenticationResult(accessToken, refreshToken, guest, null);
+    }
+
+    /**
+     * Runs on every authenticated request. In stateless mode the principal is built from
+     * the signed claims alone; revocation is covered by the in-memory cutoff check.
+     * Deliberately not transactional so the stateless path never touches the database.
+     */
     public AuthenticatedUser validateAccessToken(String token) {
-        String userId = tokenService.validateTokenAndGetUserId(token);
-        log.info("Validating access token for user: '{}'", userId);
+        Claims claims = tokenService.parseAccessToken(token);
+
+        if (statelessValidation) {
+            return tokenService.toAuthenticatedUser(claims);
+        }
 
-        User user = userRepository.findById(UserId.of(userId)).orElseThrow();
-        return authenticationDomainService.createAuthenticatedUser(user);
+        return authenticatedUserCache.get(claims.getSubject(), claims.getIssuedAt().toInstant(), () -> {
+            UserId userId = UserId.of(claims.getSubject());
+            return userRepository.findById(userId)
+                    .map(authenticationDomainService::createAuthenticatedUser)
+                    .orElseGet(() -> guestFromClaims(claims, userId));
+        });
     }
 
     @Transactional
     public AuthenticationResult refreshToken(String refreshToken) {
-        String userId = tokenService.validateTokenAndGetUserId(refreshToken);
-        User user = userRepository.findById(UserId.of(userId)).orElseThrow();
+        Claims claims = tokenService.parseRefreshToken(refreshToken);
+        UserId userId = UserId.of(claims.getSubject());
+        User user = userRepository.findById(userId).orElse(null);
 
-        AuthenticatedUser authenticatedUser = authenticationDomainService.createAuthenticatedUser(user);
+        AuthenticatedUser authenticatedUser = user != null
+                ? authenticationDomainService.createAuthenticatedUser(user)
+                : guestFromClaims(claims, userId);
 
         String newAccessToken = tokenService.generateAccessToken(authenticatedUser);
         String newRefreshToken = tokenService.generateRefreshToken(authenticatedUser);
@@ -104,4 +144,17 @@ public class AuthenticationApplicationService {
         }
         return Optional.of(authHeader.substring(7));
     }
-}
\ No newline at end of file
+
+    private void publish(UserAuthenticatedEvent event) {
+        transactionTemplate.executeWithoutResult(status -> eventPublisher.publish(event));
+    }
+
+    // Guests that have not placed an order yet only exist as signed claims
+    private AuthenticatedUser guestFromClaims(Claims claims, UserId userId) {
+        AuthenticatedUser principal = tokenService.toAuthenticatedUser(claims);
+        if (!principal.isGuest()) {
+            throw new UserNotFoundException(userId);
+        }
+        return principal;
+    }
+}
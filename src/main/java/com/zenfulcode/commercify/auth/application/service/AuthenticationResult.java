@@ -7,6 +7,7 @@ public record AuthenticationResult(
         String accessToken,
         String refreshToken,
         AuthenticatedUser user,
+        // Null for guest sessions, which are not backed by a user row
         User userInfo
 ) {
 }
\ No newline at end of file
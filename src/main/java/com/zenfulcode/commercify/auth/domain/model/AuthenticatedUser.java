@@ -88,6 +88,10 @@ public class AuthenticatedUser implements UserDetails {
         return roles.contains(UserRole.ROLE_ADMIN);
     }
 
+    public boolean isGuest() {
+        return roles.contains(UserRole.ROLE_GUEST);
+    }
+
     @Override
     public String getPassword() {
         return password;
@@ -0,0 +1,30 @@
+package com.zenfulcode.commercify.auth.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "security.password-hashing")
+public class PasswordHashingProperties {
+    /**
+     * bcrypt cost for new hashes; stored hashes below it are upgraded on login. Must be
+     * the same on every node.
+     */
+    private int strength = 12;
+    // Only checked at startup: a node hashing slower than this logs a lower cost to consider
+    private Duration latencyBudget = Duration.ofMillis(250);
+
+    /**
+     * Hashing runs on its own pool so login storms cannot occupy every request thread.
+     * Work beyond threads + queue-capacity is rejected immediately.
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int queueCapacity = 64;
+    private Duration timeout = Duration.ofSeconds(10);
+}
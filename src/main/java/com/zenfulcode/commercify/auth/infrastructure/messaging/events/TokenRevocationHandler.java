@@ -0,0 +1,43 @@
+package com.zenfulcode.commercify.auth.infrastructure.messaging.events;
+
+import com.zenfulcode.commercify.auth.infrastructure.security.TokenRevocationRegistry;
+import com.zenfulcode.commercify.user.domain.event.UserPasswordChangedEvent;
+import com.zenfulcode.commercify.user.domain.event.UserRolesChangedEvent;
+import com.zenfulcode.commercify.user.domain.event.UserStatusChangedEvent;
+import com.zenfulcode.commercify.user.domain.model.UserStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Revokes issued tokens whenever the claims they carry, or the right to use them,
+ * no longer hold.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationHandler {
+    private final TokenRevocationRegistry revocationRegistry;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleUserStatusChanged(UserStatusChangedEvent event) {
+        if (event.getNewStatus() != UserStatus.ACTIVE) {
+            log.info("Revoking tokens for user {} after status change to {}", event.getUserId(), event.getNewStatus());
+            revocationRegistry.revokeAll(event.getUserId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handlePasswordChanged(UserPasswordChangedEvent event) {
+        log.info("Revoking tokens for user {} after password change", event.getUserId());
+        revocationRegistry.revokeAll(event.getUserId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleRolesChanged(UserRolesChangedEvent event) {
+        log.info("Revoking tokens for user {} after role change", event.getUserId());
+        revocationRegistry.revokeAll(event.getUserId());
+    }
+}
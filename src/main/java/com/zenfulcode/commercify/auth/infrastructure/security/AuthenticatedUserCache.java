@@ -0,0 +1,71 @@
+package com.zenfulcode.commercify.auth.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zenfulcode.commercify.auth.domain.model.AuthenticatedUser;
+import com.zenfulcode.commercify.user.domain.event.UserPasswordChangedEvent;
+import com.zenfulcode.commercify.user.domain.event.UserRolesChangedEvent;
+import com.zenfulcode.commercify.user.domain.event.UserStatusChangedEvent;
+import com.zenfulcode.commercify.user.domain.valueobject.UserId;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived principals for the lookup validation mode, so a burst of requests on one
+ * token loads the user once. Keyed by token issue time, so a fresh login never sees an
+ * entry built for an older token.
+ */
+@Component
+public class AuthenticatedUserCache {
+    private final Cache<Key, AuthenticatedUser> principals;
+
+    public AuthenticatedUserCache(
+            @Value("${security.jwt.principal-cache.maximum-size:10000}") long maximumSize,
+            @Value("${security.jwt.principal-cache.time-to-live:30s}") Duration timeToLive,
+            MeterRegistry meterRegistry
+    ) {
+        this.principals = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build(), "authenticatedUsers");
+    }
+
+    /**
+     * Returns the cached principal or loads it; concurrent callers for the same token
+     * share one load.
+     */
+    public AuthenticatedUser get(String userId, Instant tokenIssuedAt, Supplier<AuthenticatedUser> loader) {
+        return principals.get(new Key(userId, tokenIssuedAt), key -> loader.get());
+    }
+
+    public void evict(UserId userId) {
+        principals.asMap().keySet().removeIf(key -> key.userId().equals(userId.getId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserStatusChanged(UserStatusChangedEvent event) {
+        evict(event.getUserId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPasswordChanged(UserPasswordChangedEvent event) {
+        evict(event.getUserId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRolesChanged(UserRolesChangedEvent event) {
+        evict(event.getUserId());
+    }
+
+    private record Key(String userId, Instant tokenIssuedAt) {
+    }
+}
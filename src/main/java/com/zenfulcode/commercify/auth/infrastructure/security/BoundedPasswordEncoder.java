@@ -0,0 +1,136 @@
+package com.zenfulcode.commercify.auth.infrastructure.security;
+
+import com.zenfulcode.commercify.auth.infrastructure.config.PasswordHashingProperties;
+import com.zenfulcode.commercify.shared.domain.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder that runs every hash on a bounded pool and reports hashes below the
+ * configured cost, so DaoAuthenticationProvider rehashes them on the next successful
+ * login. Stronger hashes are kept as they are.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abyx]?\\$(\\d\\d)\\$");
+
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        // The same on every node, so nodes never rehash each other's hashes back and forth
+        this.strength = properties.getStrength();
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.timeoutMillis = properties.getTimeout().toMillis();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                properties.getThreads(),
+                properties.getThreads(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.encodeTimer = meterRegistry.timer("commercify.password.hashing", "operation", "encode");
+        this.matchesTimer = meterRegistry.timer("commercify.password.hashing", "operation", "matches");
+        this.rejected = meterRegistry.counter("commercify.password.hashing.rejected");
+        meterRegistry.gauge("commercify.password.hashing.queue", executor, e -> e.getQueue().size());
+        meterRegistry.gauge("commercify.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount);
+
+        log.info("Password hashing uses bcrypt cost {} on {} threads", strength, properties.getThreads());
+        checkLatencyBudget(properties.getLatencyBudget());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) < strength;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many concurrent sign-in requests, please retry");
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceUnavailableException("Password hashing timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ServiceUnavailableException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /**
+     * Times one hash at the configured cost and only warns when it is over budget on this
+     * node; the cost itself is never changed per node.
+     */
+    private void checkLatencyBudget(Duration budget) {
+        long start = System.nanoTime();
+        delegate.encode(UUID.randomUUID().toString());
+        long elapsedNanos = System.nanoTime() - start;
+
+        if (elapsedNanos > budget.toNanos()) {
+            // Every cost step doubles the work
+            int stepsOver = 64 - Long.numberOfLeadingZeros((elapsedNanos - 1) / budget.toNanos());
+            log.warn("bcrypt cost {} takes {} ms on this node, over the {} ms budget; consider security.password-hashing.strength={}",
+                    strength, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), budget.toMillis(), Math.max(4, strength - stepsOver));
+        }
+    }
+}
@@ -6,13 +6,15 @@ import com.zenfulcode.commercify.user.domain.model.User;
 import com.zenfulcode.commercify.user.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepository userRepository;
     private final UserRoleMapper userRoleMapper;
 
@@ -29,4 +31,26 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .roles(userRoleMapper.mapRoles(user.getRoles()))
                 .build();
     }
+
+    /**
+     * Stores a rehashed password after a successful login. Not a password change, so no
+     * tokens are revoked.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        AuthenticatedUser authenticatedUser = (AuthenticatedUser) userDetails;
+        userRepository.findByEmail(authenticatedUser.getEmail()).ifPresent(user -> {
+            user.rehashPassword(newPassword);
+            userRepository.save(user);
+        });
+
+        return AuthenticatedUser.builder()
+                .userId(authenticatedUser.getUserId().toString())
+                .email(authenticatedUser.getEmail())
+                .username(authenticatedUser.getUsername())
+                .password(newPassword)
+                .roles(authenticatedUser.getRoles())
+                .build();
+    }
 }
@@ -0,0 +1,105 @@
+package com.zenfulcode.commercify.auth.infrastructure.security;
+
+import com.zenfulcode.commercify.user.domain.valueobject.UserId;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user cutoff before which issued tokens are rejected. Checked in memory on every
+ * request; the user_token_revocations table is the shared copy that other nodes poll.
+ */
+@Slf4j
+@Component
+public class TokenRevocationRegistry {
+    private static final String UPSERT = """
+            INSERT INTO user_token_revocations (user_id, revoked_before, updated_at)
+            VALUES (?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                revoked_before = GREATEST(revoked_before, VALUES(revoked_before)),
+                updated_at = VALUES(updated_at)
+            """;
+
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final Map<String, Instant> revokedBefore = new ConcurrentHashMap<>();
+
+    @Value("${security.jwt.refresh-token-expiration}")
+    private long refreshTokenExpiration;
+
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    public TokenRevocationRegistry(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Revocations are mostly written from after-commit listeners, where the finished
+        // business transaction's connection may still be bound but is never committed again
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void load() {
+        sync();
+    }
+
+    public boolean isRevoked(String userId, Instant issuedAt) {
+        Instant cutoff = revokedBefore.get(userId);
+        return cutoff != null && issuedAt.isBefore(cutoff);
+    }
+
+    /**
+     * Rejects every token issued for the user before now.
+     */
+    public void revokeAll(UserId userId) {
+        // Token iat has second precision; a token issued later in this second stays valid
+        Instant cutoff = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.update(
+                UPSERT, userId.getId(), Timestamp.from(cutoff), Timestamp.from(Instant.now())));
+        // Only after the shared row is committed
+        revokedBefore.merge(userId.getId(), cutoff, this::latest);
+        log.debug("Revoked tokens issued before {} for user {}", cutoff, userId);
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.revocation-sync-interval-ms:10000}")
+    public void sync() {
+        Instant syncStartedAt = Instant.now();
+
+        jdbcTemplate.query(
+                "SELECT user_id, revoked_before FROM user_token_revocations WHERE updated_at >= ?",
+                (RowCallbackHandler) rs -> revokedBefore.merge(
+                        rs.getString("user_id"),
+                        rs.getTimestamp("revoked_before").toInstant(),
+                        this::latest
+                ),
+                // Overlap so rows committed just after the previous poll are not missed
+                Timestamp.from(lastSync.minus(SYNC_OVERLAP))
+        );
+        lastSync = syncStartedAt;
+
+        // Once every token issued before a cutoff has expired, the entry is no longer needed
+        Instant expired = syncStartedAt.minusMillis(refreshTokenExpiration);
+        revokedBefore.values().removeIf(cutoff -> cutoff.isBefore(expired));
+        jdbcTemplate.update("DELETE FROM user_token_revocations WHERE revoked_before < ?", Timestamp.from(expired));
+    }
+
+    private Instant latest(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -1,18 +1,30 @@
 package com.zenfulcode.commercify.auth.infrastructure.security;
 
+import com.zenfulcode.commercify.auth.domain.exception.InvalidAuthenticationException;
 import com.zenfulcode.commercify.auth.domain.model.AuthenticatedUser;
+import com.zenfulcode.commercify.auth.domain.model.UserRole;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.util.Collection;
 import java.util.Date;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class TokenService {
+    private static final String TOKEN_TYPE_CLAIM = "token_type";
+    private static final String ACCESS_TOKEN = "access";
+    private static final String REFRESH_TOKEN = "refresh";
+
+    private final TokenRevocationRegistry revocationRegistry;
 
     @Value("${security.jwt.secret}")
     private String jwtSecret;
@@ -23,25 +35,85 @@ public class TokenService {
     @Value("${security.jwt.refresh-token-expiration}")
     private long refreshTokenExpiration;
 
+    // Decoding the secret and building the parser once instead of per request
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    public TokenService(TokenRevocationRegistry revocationRegistry) {
+        this.revocationRegistry = revocationRegistry;
+    }
+
+    @PostConstruct
+    void initKeys() {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
     public String generateAccessToken(AuthenticatedUser user) {
-        return buildToken(user, accessTokenExpiration);
+        return buildToken(user, ACCESS_TOKEN, accessTokenExpiration);
     }
 
     public String generateRefreshToken(AuthenticatedUser user) {
-        return buildToken(user, refreshTokenExpiration);
+        return buildToken(user, REFRESH_TOKEN, refreshTokenExpiration);
+    }
+
+    /**
+     * Verifies an access token and returns its claims. Rejects refresh tokens and tokens
+     * issued before the user's revocation cutoff.
+     */
+    public Claims parseAccessToken(String token) {
+        return parse(token, ACCESS_TOKEN);
+    }
+
+    public Claims parseRefreshToken(String token) {
+        return parse(token, REFRESH_TOKEN);
+    }
+
+    /**
+     * Builds the principal straight from signed claims, without loading the user.
+     */
+    public AuthenticatedUser toAuthenticatedUser(Claims claims) {
+        return AuthenticatedUser.create(
+                claims.getSubject(),
+                claims.get("username", String.class),
+                claims.get("email", String.class),
+                null,
+                mapRoles(claims.get("roles", Collection.class)),
+                true,
+                true,
+                true,
+                true
+        );
     }
 
-    public String validateTokenAndGetUserId(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private Claims parse(String token, String expectedType) {
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+
+        // Tokens issued before the type claim existed are accepted for either use
+        String tokenType = claims.get(TOKEN_TYPE_CLAIM, String.class);
+        if (tokenType != null && !tokenType.equals(expectedType)) {
+            throw new InvalidAuthenticationException("Unexpected token type: " + tokenType);
+        }
+
+        if (revocationRegistry.isRevoked(claims.getSubject(), claims.getIssuedAt().toInstant())) {
+            throw new InvalidAuthenticationException("Token has been revoked");
+        }
 
-        return claims.getSubject();
+        return claims;
     }
 
-    private String buildToken(AuthenticatedUser user, long expiration) {
+    private Set<UserRole> mapRoles(Collection<?> roles) {
+        if (roles == null) {
+            return Set.of();
+        }
+        return roles.stream()
+                .map(role -> UserRole.valueOf(role.toString()))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private String buildToken(AuthenticatedUser user, String tokenType, long expiration) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
@@ -50,14 +122,10 @@ public class TokenService {
                 .claim("username", user.getUsername())
                 .claim("email", user.getEmail())
                 .claim("roles", user.getRoles())
+                .claim(TOKEN_TYPE_CLAIM, tokenType)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
-
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
 }
@@ -1,88 +1,281 @@
 package com.zenfulcode.commercify.metrics.application;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.zenfulcode.commercify.api.system.dto.MetricsResponse;
+import com.zenfulcode.commercify.api.system.dto.MetricsSeriesPoint;
+import com.zenfulcode.commercify.api.system.dto.MetricsSeriesResponse;
 import com.zenfulcode.commercify.metrics.application.dto.MetricsQuery;
+import com.zenfulcode.commercify.metrics.application.dto.MetricsSeriesQuery;
+import com.zenfulcode.commercify.metrics.domain.exception.InvalidMetricsRangeException;
+import com.zenfulcode.commercify.metrics.domain.model.BucketInterval;
+import com.zenfulcode.commercify.metrics.domain.model.SalesTotals;
+import com.zenfulcode.commercify.metrics.domain.model.SeriesBucket;
+import com.zenfulcode.commercify.metrics.domain.repository.SalesMetricsRepository;
+import com.zenfulcode.commercify.metrics.domain.repository.SalesSeriesRepository;
+import com.zenfulcode.commercify.metrics.infrastructure.config.MetricsProperties;
 import com.zenfulcode.commercify.order.application.query.CalculateTotalRevenueQuery;
 import com.zenfulcode.commercify.order.application.query.CountOrdersInPeriodQuery;
 import com.zenfulcode.commercify.order.application.service.OrderApplicationService;
 import com.zenfulcode.commercify.product.application.query.CountNewProductsInPeriodQuery;
 import com.zenfulcode.commercify.product.application.service.ProductApplicationService;
+import com.zenfulcode.commercify.shared.domain.exception.ServiceUnavailableException;
 import com.zenfulcode.commercify.user.application.query.CountActiveUsersInPeriodQuery;
 import com.zenfulcode.commercify.user.application.service.UserApplicationService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class MetricsApplicationService {
     private final OrderApplicationService orderApplicationService;
     private final ProductApplicationService productApplicationService;
     private final UserApplicationService userApplicationService;
+    private final SalesMetricsRepository salesMetricsRepository;
+    private final SalesSeriesRepository salesSeriesRepository;
+    private final ThreadPoolTaskExecutor executor;
+    private final Duration queryTimeout;
+    private final boolean rollupEnabled;
+    private final int seriesMaxBuckets;
+
+    // Concurrent requests for the same range share a single calculation
+    private final Cache<MetricsQuery, MetricsResponse> cache;
+    private final Cache<MetricsSeriesQuery, MetricsSeriesResponse> seriesCache;
+
+    public MetricsApplicationService(
+            OrderApplicationService orderApplicationService,
+            ProductApplicationService productApplicationService,
+            UserApplicationService userApplicationService,
+            SalesMetricsRepository salesMetricsRepository,
+            SalesSeriesRepository salesSeriesRepository,
+            @Qualifier("metricsQueryExecutor") ThreadPoolTaskExecutor executor,
+            MetricsProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.orderApplicationService = orderApplicationService;
+        this.productApplicationService = productApplicationService;
+        this.userApplicationService = userApplicationService;
+        this.salesMetricsRepository = salesMetricsRepository;
+        this.salesSeriesRepository = salesSeriesRepository;
+        this.executor = executor;
+        this.queryTimeout = properties.getQueryTimeout();
+        this.rollupEnabled = properties.getRollup().isEnabled();
+        this.seriesMaxBuckets = properties.getSeriesMaxBuckets();
+
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaximumSize())
+                .expireAfterWrite(properties.getCacheTimeToLive())
+                .recordStats()
+                .build(), "metricsCache");
+        this.seriesCache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaximumSize())
+                .expireAfterWrite(properties.getCacheTimeToLive())
+                .recordStats()
+                .build(), "metricsSeriesCache");
+    }
 
-    @Cacheable(value = "metricsCache", key = "{#metricsQuery.startDate, #metricsQuery.endDate, #metricsQuery.productCategory, #metricsQuery.region}")
     public MetricsResponse getMetrics(MetricsQuery metricsQuery) {
+        return cache.get(metricsQuery, this::calculateMetrics);
+    }
+
+    /**
+     * Revenue, orders, average order value and new users per bucket. Days and weeks are
+     * read from the daily rollup, hours from one grouped query over the source tables.
+     */
+    public MetricsSeriesResponse getSeries(MetricsSeriesQuery seriesQuery) {
+        MetricsQuery range = seriesQuery.range();
+        if (range.endDate().isBefore(range.startDate())) {
+            throw new InvalidMetricsRangeException("endDate must not be before startDate");
+        }
+
+        long buckets = seriesQuery.interval().bucketsBetween(rangeStart(range), rangeEnd(range));
+        if (buckets > seriesMaxBuckets) {
+            throw new InvalidMetricsRangeException(
+                    "range spans " + buckets + " " + seriesQuery.interval() + " buckets, at most " + seriesMaxBuckets + " are allowed");
+        }
+
+        return seriesCache.get(seriesQuery, this::calculateSeries);
+    }
+
+    private MetricsSeriesResponse calculateSeries(MetricsSeriesQuery seriesQuery) {
+        MetricsQuery range = seriesQuery.range();
+        BucketInterval interval = seriesQuery.interval();
+        Instant start = rangeStart(range);
+        Instant end = rangeEnd(range);
+
+        log.info("Calculating {} metrics series from {} to {}", interval, range.startDate(), range.endDate());
+
+        List<SeriesBucket> buckets = rollupEnabled && interval != BucketInterval.HOUR
+                && salesMetricsRepository.coversRange(range.startDate(), range.endDate())
+                ? salesMetricsRepository.findSeries(range.productCategory(), range.region(), interval, range.startDate(), range.endDate())
+                : salesSeriesRepository.findSeries(range.productCategory(), range.region(), interval, start, end);
+
+        // Empty buckets are not returned by the queries; fill them so the series is contiguous
+        Map<Instant, SeriesBucket> byStart = buckets.stream()
+                .collect(Collectors.toMap(SeriesBucket::start, Function.identity()));
+        List<MetricsSeriesPoint> points = new ArrayList<>();
+        for (Instant bucket = interval.truncate(start); bucket.isBefore(end); bucket = bucket.plus(interval.length())) {
+            points.add(toPoint(byStart.getOrDefault(bucket, SeriesBucket.empty(bucket))));
+        }
+
+        return new MetricsSeriesResponse(range.startDate(), range.endDate(), interval, points);
+    }
+
+    private static MetricsSeriesPoint toPoint(SeriesBucket bucket) {
+        BigDecimal averageOrderValue = bucket.completedOrderCount() == 0
+                ? BigDecimal.ZERO
+                : bucket.completedRevenue().divide(BigDecimal.valueOf(bucket.completedOrderCount()), 2, RoundingMode.HALF_UP);
+
+        return new MetricsSeriesPoint(
+                bucket.start(),
+                bucket.completedRevenue(),
+                bucket.orderCount(),
+                averageOrderValue,
+                bucket.newUserCount()
+        );
+    }
+
+    private static Instant rangeStart(MetricsQuery range) {
+        return range.startDate().atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private static Instant rangeEnd(MetricsQuery range) {
+        return range.endDate().plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private MetricsResponse calculateMetrics(MetricsQuery metricsQuery) {
+        log.info("Calculating metrics from {} to {}", metricsQuery.startDate(), metricsQuery.endDate());
+
+        // Days the rollup has not reached yet are read from the source instead of as zeros
+        boolean useRollup = rollupEnabled
+                && salesMetricsRepository.coversRange(previousPeriod(metricsQuery).startDate(), metricsQuery.endDate());
+
+        return useRollup ? calculateFromRollup(metricsQuery) : calculateFromSource(metricsQuery);
+    }
+
+    /**
+     * Sums pre-aggregated day buckets, which also honors the category and region filters.
+     */
+    private MetricsResponse calculateFromRollup(MetricsQuery metricsQuery) {
+        CalculateTotalRevenueQuery previousPeriod = previousPeriod(metricsQuery);
+
+        SalesTotals current = salesMetricsRepository.sumRange(
+                metricsQuery.productCategory(),
+                metricsQuery.region(),
+                metricsQuery.startDate(),
+                metricsQuery.endDate()
+        );
+        SalesTotals previous = salesMetricsRepository.sumRange(
+                previousPeriod.productCategory(),
+                previousPeriod.region(),
+                previousPeriod.startDate(),
+                previousPeriod.endDate()
+        );
+
+        return MetricsResponse.builder()
+                .startDate(metricsQuery.startDate())
+                .endDate(metricsQuery.endDate())
+                .totalRevenue(current.completedRevenue())
+                .totalOrders(Math.toIntExact(current.orderCount()))
+                .newProductsAdded(Math.toIntExact(current.newProductCount()))
+                .activeUsers(Math.toIntExact(current.newUserCount()))
+                .revenueChangePercent(calculateRevenueChangePercent(current.completedRevenue(), previous.completedRevenue()))
+                .build();
+    }
+
+    private MetricsResponse calculateFromSource(MetricsQuery metricsQuery) {
         LocalDate startDate = metricsQuery.startDate();
         LocalDate endDate = metricsQuery.endDate();
 
-        log.info("Calculating metrics from {} to {}", startDate, endDate);
-
         final CalculateTotalRevenueQuery calculateTotalRevenueQuery = CalculateTotalRevenueQuery.of(metricsQuery);
+        final CalculateTotalRevenueQuery previousRevenueQuery = previousPeriod(metricsQuery);
         final CountOrdersInPeriodQuery countOrdersInPeriodQuery = CountOrdersInPeriodQuery.of(metricsQuery);
         final CountNewProductsInPeriodQuery countNewProductsInPeriodQuery = CountNewProductsInPeriodQuery.of(metricsQuery);
         final CountActiveUsersInPeriodQuery countActiveUsersInPeriodQuery = CountActiveUsersInPeriodQuery.of(metricsQuery);
 
-        // Get metrics in parallel for better performance
-        BigDecimal totalRevenue = orderApplicationService.calculateTotalRevenue(calculateTotalRevenueQuery);
-        int totalOrders = orderApplicationService.countOrdersInPeriod(countOrdersInPeriodQuery);
-        int newProductsAdded = productApplicationService.countNewProductsInPeriod(countNewProductsInPeriodQuery);
-        int activeUsers = userApplicationService.countActiveUsersInPeriod(countActiveUsersInPeriodQuery);
+        // The queries are independent, so they run side by side on the metrics pool
+        CompletableFuture<BigDecimal> totalRevenue = async(() -> orderApplicationService.calculateTotalRevenue(calculateTotalRevenueQuery));
+        CompletableFuture<BigDecimal> previousRevenue = async(() -> orderApplicationService.calculateTotalRevenue(previousRevenueQuery));
+        CompletableFuture<Integer> totalOrders = async(() -> orderApplicationService.countOrdersInPeriod(countOrdersInPeriodQuery));
+        CompletableFuture<Integer> newProductsAdded = async(() -> productApplicationService.countNewProductsInPeriod(countNewProductsInPeriodQuery));
+        CompletableFuture<Integer> activeUsers = async(() -> userApplicationService.countActiveUsersInPeriod(countActiveUsersInPeriodQuery));
 
-        // Optional: calculate trends compared to previous period
-        BigDecimal revenueChangePercent = calculateRevenueChangePercent(startDate, endDate, metricsQuery);
+        await(totalRevenue, previousRevenue, totalOrders, newProductsAdded, activeUsers);
 
         return MetricsResponse.builder()
                 .startDate(startDate)
                 .endDate(endDate)
-                .totalRevenue(totalRevenue)
-                .totalOrders(totalOrders)
-                .newProductsAdded(newProductsAdded)
-                .activeUsers(activeUsers)
-                .revenueChangePercent(revenueChangePercent)
+                .totalRevenue(totalRevenue.join())
+                .totalOrders(totalOrders.join())
+                .newProductsAdded(newProductsAdded.join())
+                .activeUsers(activeUsers.join())
+                .revenueChangePercent(calculateRevenueChangePercent(totalRevenue.join(), previousRevenue.join()))
                 .build();
     }
 
-    private BigDecimal calculateRevenueChangePercent(LocalDate startDate, LocalDate endDate, MetricsQuery metricsQuery) {
-        // Calculate the same period length before the startDate
-        long periodDays = java.time.temporal.ChronoUnit.DAYS.between(startDate, endDate);
-        LocalDate previousPeriodStart = startDate.minusDays(periodDays);
-        LocalDate previousPeriodEnd = startDate.minusDays(1);
+    private <T> CompletableFuture<T> async(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, executor);
+    }
 
-        final CalculateTotalRevenueQuery currentRevenueQuery = new CalculateTotalRevenueQuery(
-                metricsQuery.productCategory(),
-                metricsQuery.region(),
-                startDate,
-                endDate
-        );
+    private void await(CompletableFuture<?>... queries) {
+        try {
+            CompletableFuture.allOf(queries)
+                    .orTimeout(queryTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .join();
+        } catch (CompletionException e) {
+            for (CompletableFuture<?> query : queries) {
+                query.cancel(true);
+            }
 
-        final CalculateTotalRevenueQuery previousRevenueQuery = new CalculateTotalRevenueQuery(
+            if (e.getCause() instanceof TimeoutException) {
+                throw new ServiceUnavailableException("Metrics calculation timed out", e.getCause());
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * The same period length directly before the requested range.
+     */
+    private CalculateTotalRevenueQuery previousPeriod(MetricsQuery metricsQuery) {
+        long periodDays = ChronoUnit.DAYS.between(metricsQuery.startDate(), metricsQuery.endDate());
+
+        return new CalculateTotalRevenueQuery(
                 metricsQuery.productCategory(),
                 metricsQuery.region(),
-                previousPeriodStart,
-                previousPeriodEnd
+                metricsQuery.startDate().minusDays(periodDays),
+                metricsQuery.startDate().minusDays(1)
         );
+    }
 
-        BigDecimal currentRevenue = orderApplicationService.calculateTotalRevenue(currentRevenueQuery);
-        BigDecimal previousRevenue = orderApplicationService.calculateTotalRevenue(previousRevenueQuery);
-
-        if (previousRevenue.equals(BigDecimal.ZERO)) {
-            return currentRevenue.equals(BigDecimal.ZERO) ? BigDecimal.ZERO : new BigDecimal(100);
+    private BigDecimal calculateRevenueChangePercent(BigDecimal currentRevenue, BigDecimal previousRevenue) {
+        if (previousRevenue.signum() == 0) {
+            return currentRevenue.signum() == 0 ? BigDecimal.ZERO : new BigDecimal(100);
         }
 
         return currentRevenue.subtract(previousRevenue)
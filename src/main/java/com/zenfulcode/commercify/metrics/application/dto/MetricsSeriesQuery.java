@@ -0,0 +1,6 @@
+package com.zenfulcode.commercify.metrics.application.dto;
+
+import com.zenfulcode.commercify.metrics.domain.model.BucketInterval;
+
+public record MetricsSeriesQuery(MetricsQuery range, BucketInterval interval) {
+}
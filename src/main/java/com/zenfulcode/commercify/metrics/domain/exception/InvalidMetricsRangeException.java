@@ -0,0 +1,11 @@
+package com.zenfulcode.commercify.metrics.domain.exception;
+
+import com.zenfulcode.commercify.shared.domain.exception.DomainValidationException;
+
+import java.util.List;
+
+public class InvalidMetricsRangeException extends DomainValidationException {
+    public InvalidMetricsRangeException(String violation) {
+        super("Invalid metrics range", List.of(violation));
+    }
+}
@@ -0,0 +1,46 @@
+package com.zenfulcode.commercify.metrics.domain.model;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Width of a metrics series bucket. Buckets are aligned in UTC; weeks start on Monday.
+ */
+public enum BucketInterval {
+    HOUR(Duration.ofHours(1)),
+    DAY(Duration.ofDays(1)),
+    WEEK(Duration.ofDays(7));
+
+    private final Duration length;
+
+    BucketInterval(Duration length) {
+        this.length = length;
+    }
+
+    public Duration length() {
+        return length;
+    }
+
+    public Instant truncate(Instant instant) {
+        return switch (this) {
+            case HOUR -> instant.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> instant.truncatedTo(ChronoUnit.DAYS);
+            case WEEK -> instant.atOffset(ZoneOffset.UTC)
+                    .truncatedTo(ChronoUnit.DAYS)
+                    .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                    .toInstant();
+        };
+    }
+
+    /**
+     * Number of buckets needed to cover [start, end).
+     */
+    public long bucketsBetween(Instant start, Instant end) {
+        long millis = Duration.between(truncate(start), end).toMillis();
+        return Math.max(0, (millis + length.toMillis() - 1) / length.toMillis());
+    }
+}
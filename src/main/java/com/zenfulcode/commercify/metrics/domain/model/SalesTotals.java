@@ -0,0 +1,14 @@
+package com.zenfulcode.commercify.metrics.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Sums over a range of daily_sales_metrics rows.
+ */
+public record SalesTotals(
+        long orderCount,
+        BigDecimal completedRevenue,
+        long newProductCount,
+        long newUserCount
+) {
+}
@@ -0,0 +1,20 @@
+package com.zenfulcode.commercify.metrics.domain.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record SeriesBucket(
+        Instant start,
+        long orderCount,
+        long completedOrderCount,
+        BigDecimal completedRevenue,
+        long newUserCount
+) {
+    public static SeriesBucket empty(Instant start) {
+        return new SeriesBucket(start, 0, 0, BigDecimal.ZERO, 0);
+    }
+
+    public SeriesBucket withNewUserCount(long newUserCount) {
+        return new SeriesBucket(start, orderCount, completedOrderCount, completedRevenue, newUserCount);
+    }
+}
@@ -0,0 +1,27 @@
+package com.zenfulcode.commercify.metrics.domain.repository;
+
+import com.zenfulcode.commercify.metrics.domain.model.BucketInterval;
+import com.zenfulcode.commercify.metrics.domain.model.SalesTotals;
+import com.zenfulcode.commercify.metrics.domain.model.SeriesBucket;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SalesMetricsRepository {
+    /**
+     * Sums the daily buckets of an inclusive date range. A null category or region means all.
+     */
+    SalesTotals sumRange(String categoryId, String region, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Non-empty day or week buckets of an inclusive date range in ascending order, one
+     * grouped query over the daily rows.
+     */
+    List<SeriesBucket> findSeries(String categoryId, String region, BucketInterval interval, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Whether every day of an inclusive date range that can hold data has been rolled up.
+     * Ranges that are not covered must be read from the source tables instead.
+     */
+    boolean coversRange(LocalDate startDate, LocalDate endDate);
+}
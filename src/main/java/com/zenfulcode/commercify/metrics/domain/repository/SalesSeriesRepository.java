@@ -0,0 +1,17 @@
+package com.zenfulcode.commercify.metrics.domain.repository;
+
+import com.zenfulcode.commercify.metrics.domain.model.BucketInterval;
+import com.zenfulcode.commercify.metrics.domain.model.SeriesBucket;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Series computed straight from orders and users, for intervals finer than the daily rollup.
+ */
+public interface SalesSeriesRepository {
+    /**
+     * Non-empty buckets of [start, end) in ascending order. A null category or region means all.
+     */
+    List<SeriesBucket> findSeries(String categoryId, String region, BucketInterval interval, Instant start, Instant end);
+}
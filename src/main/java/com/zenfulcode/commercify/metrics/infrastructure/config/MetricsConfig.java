@@ -0,0 +1,28 @@
+package com.zenfulcode.commercify.metrics.infrastructure.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@RequiredArgsConstructor
+public class MetricsConfig {
+    private final MetricsProperties properties;
+
+    @Bean
+    public ThreadPoolTaskExecutor metricsQueryExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getQueryThreads());
+        executor.setMaxPoolSize(properties.getQueryThreads());
+        executor.setQueueCapacity(properties.getQueryQueueCapacity());
+        executor.setThreadNamePrefix("metrics-query-");
+        // A saturated pool degrades to running the query on the request thread
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
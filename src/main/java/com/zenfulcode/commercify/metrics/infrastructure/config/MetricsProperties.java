@@ -0,0 +1,37 @@
+package com.zenfulcode.commercify.metrics.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "commercify.metrics")
+public class MetricsProperties {
+    private int queryThreads = 4;
+    private int queryQueueCapacity = 32;
+    private Duration queryTimeout = Duration.ofSeconds(10);
+
+    private long cacheMaximumSize = 500;
+    private Duration cacheTimeToLive = Duration.ofMinutes(1);
+
+    // Upper bound on the points of one series response
+    private int seriesMaxBuckets = 2000;
+
+    private final Rollup rollup = new Rollup();
+
+    @Setter
+    @Getter
+    public static class Rollup {
+        // Serve metrics from daily_sales_metrics instead of scanning orders, products and users
+        private boolean enabled = true;
+        private long refreshIntervalMs = 15000;
+        private long reconcileIntervalMs = 3600000;
+        // Recent days are recomputed on every reconcile to catch changes that raised no event here
+        private int reconcileDays = 3;
+    }
+}
@@ -0,0 +1,40 @@
+package com.zenfulcode.commercify.metrics.infrastructure.messaging.events;
+
+import com.zenfulcode.commercify.metrics.infrastructure.rollup.DailySalesRollup;
+import com.zenfulcode.commercify.order.domain.event.OrderCreatedEvent;
+import com.zenfulcode.commercify.order.domain.event.OrderStatusChangedEvent;
+import com.zenfulcode.commercify.product.domain.event.ProductCreatedEvent;
+import com.zenfulcode.commercify.user.domain.event.UserCreatedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Marks the day buckets touched by committed changes for the next rollup refresh.
+ */
+@Component
+@RequiredArgsConstructor
+public class DailySalesMetricsHandler {
+    private final DailySalesRollup rollup;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleOrderCreated(OrderCreatedEvent event) {
+        rollup.markDayDirty(event.getOccurredOn());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleOrderStatusChanged(OrderStatusChangedEvent event) {
+        rollup.markOrderDirty(event.getOrderId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleProductCreated(ProductCreatedEvent event) {
+        rollup.markDayDirty(event.getOccurredOn());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleUserCreated(UserCreatedEvent event) {
+        rollup.markDayDirty(event.getOccurredOn());
+    }
+}
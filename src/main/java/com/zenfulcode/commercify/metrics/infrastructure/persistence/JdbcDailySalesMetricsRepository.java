@@ -0,0 +1,280 @@
+package com.zenfulcode.commercify.metrics.infrastructure.persistence;
+
+import com.zenfulcode.commercify.metrics.domain.model.BucketInterval;
+import com.zenfulcode.commercify.metrics.domain.model.SalesTotals;
+import com.zenfulcode.commercify.metrics.domain.model.SeriesBucket;
+import com.zenfulcode.commercify.metrics.domain.repository.SalesMetricsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Day buckets of sales metrics. A day is always recomputed as a whole from the source
+ * tables, so refreshing the same day twice, or from two nodes, gives the same result.
+ * The ('', '') row of a day doubles as the marker that the day has been rolled up.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcDailySalesMetricsRepository implements SalesMetricsRepository {
+    private static final String ALL = "";
+
+    private static final String RESET_DAY = """
+            UPDATE daily_sales_metrics
+            SET order_count = 0, completed_order_count = 0, completed_revenue = 0, new_product_count = 0, new_user_count = 0
+            WHERE metric_date = ?
+            """;
+
+    private static final String UPSERT_ORDERS = """
+            INSERT INTO daily_sales_metrics
+                (metric_date, category_id, region, order_count, completed_order_count, completed_revenue, refreshed_at)
+            SELECT ?, %s, %s, COUNT(DISTINCT o.id),
+                   COUNT(DISTINCT CASE WHEN o.status = 'COMPLETED' THEN o.id END),
+                   COALESCE(SUM(CASE WHEN o.status = 'COMPLETED' THEN %s END), 0), ?
+            FROM orders o
+            %s
+            WHERE o.created_at >= ? AND o.created_at < ?
+            %s
+            ON DUPLICATE KEY UPDATE
+                order_count = VALUES(order_count),
+                completed_order_count = VALUES(completed_order_count),
+                completed_revenue = VALUES(completed_revenue),
+                refreshed_at = VALUES(refreshed_at)
+            """;
+
+    private static final String SHIPPING_JOIN = "JOIN order_shipping_info s ON s.id = o.order_shipping_info_id";
+    private static final String LINES_JOIN = """
+            JOIN order_lines l ON l.order_id = o.id
+            JOIN products p ON p.id = l.product_id""";
+
+    // Revenue is the order subtotal, without shipping and tax, as in the source revenue query.
+    // No GROUP BY, so the day always gets its ('', '') row even without orders
+    private static final String UPSERT_ORDER_TOTALS = UPSERT_ORDERS.formatted(
+            "''", "''", "o.subtotal", "", "");
+    private static final String UPSERT_ORDERS_BY_REGION = UPSERT_ORDERS.formatted(
+            "''", "s.shipping_country", "o.subtotal", SHIPPING_JOIN,
+            "GROUP BY s.shipping_country");
+    // Category revenue is the subtotal of the category's lines
+    private static final String UPSERT_ORDERS_BY_CATEGORY = UPSERT_ORDERS.formatted(
+            "p.category_id", "''", "l.unit_price * l.quantity", LINES_JOIN,
+            "AND p.category_id IS NOT NULL GROUP BY p.category_id");
+    private static final String UPSERT_ORDERS_BY_CATEGORY_AND_REGION = UPSERT_ORDERS.formatted(
+            "p.category_id", "s.shipping_country", "l.unit_price * l.quantity", LINES_JOIN + "\n" + SHIPPING_JOIN,
+            "AND p.category_id IS NOT NULL GROUP BY p.category_id, s.shipping_country");
+
+    private static final String UPSERT_NEW_PRODUCTS = """
+            INSERT INTO daily_sales_metrics (metric_date, category_id, region, new_product_count, refreshed_at)
+            SELECT ?, %s, '', COUNT(*), ?
+            FROM products p
+            WHERE p.created_at >= ? AND p.created_at < ?
+            %s
+            ON DUPLICATE KEY UPDATE
+                new_product_count = VALUES(new_product_count),
+                refreshed_at = VALUES(refreshed_at)
+            """;
+    private static final String UPSERT_NEW_PRODUCT_TOTALS = UPSERT_NEW_PRODUCTS.formatted("''", "");
+    private static final String UPSERT_NEW_PRODUCTS_BY_CATEGORY = UPSERT_NEW_PRODUCTS.formatted(
+            "p.category_id", "AND p.category_id IS NOT NULL GROUP BY p.category_id");
+
+    private static final String UPSERT_NEW_USERS = """
+            INSERT INTO daily_sales_metrics (metric_date, category_id, region, new_user_count, refreshed_at)
+            SELECT ?, '', '', COUNT(*), ?
+            FROM users u
+            WHERE u.created_at >= ? AND u.created_at < ?
+            ON DUPLICATE KEY UPDATE
+                new_user_count = VALUES(new_user_count),
+                refreshed_at = VALUES(refreshed_at)
+            """;
+
+    // Products have no region and users neither, so those come from the region-less rows
+    private static final String SUM_RANGE = """
+            SELECT
+                COALESCE(SUM(CASE WHEN category_id = ? AND region = ? THEN order_count END), 0) AS order_count,
+                COALESCE(SUM(CASE WHEN category_id = ? AND region = ? THEN completed_revenue END), 0) AS completed_revenue,
+                COALESCE(SUM(CASE WHEN category_id = ? AND region = '' THEN new_product_count END), 0) AS new_product_count,
+                COALESCE(SUM(CASE WHEN category_id = '' AND region = '' THEN new_user_count END), 0) AS new_user_count
+            FROM daily_sales_metrics
+            WHERE category_id IN (?, '') AND region IN (?, '') AND metric_date BETWEEN ? AND ?
+            """;
+
+    private static final String SERIES = """
+            SELECT
+                %s AS bucket,
+                COALESCE(SUM(CASE WHEN category_id = ? AND region = ? THEN order_count END), 0) AS order_count,
+                COALESCE(SUM(CASE WHEN category_id = ? AND region = ? THEN completed_order_count END), 0) AS completed_order_count,
+                COALESCE(SUM(CASE WHEN category_id = ? AND region = ? THEN completed_revenue END), 0) AS completed_revenue,
+                COALESCE(SUM(CASE WHEN category_id = '' AND region = '' THEN new_user_count END), 0) AS new_user_count
+            FROM daily_sales_metrics
+            WHERE category_id IN (?, '') AND region IN (?, '') AND metric_date BETWEEN ? AND ?
+            GROUP BY bucket
+            ORDER BY bucket
+            """;
+    private static final String DAY_SERIES = SERIES.formatted("metric_date");
+    // Monday of the bucket's week
+    private static final String WEEK_SERIES = SERIES.formatted("DATE_SUB(metric_date, INTERVAL WEEKDAY(metric_date) DAY)");
+
+    // Earliest day any source row was created on; days before it have nothing to roll up
+    private static final String FIRST_ACTIVITY = """
+            SELECT MIN(created_at) FROM (
+                SELECT MIN(created_at) AS created_at FROM orders
+                UNION ALL SELECT MIN(created_at) FROM products
+                UNION ALL SELECT MIN(created_at) FROM users
+            ) first_rows
+            """;
+
+    // Days with an order that changed after the day was last refreshed
+    private static final String STALE_DAYS = """
+            SELECT DISTINCT m.metric_date
+            FROM daily_sales_metrics m
+            JOIN orders o ON o.created_at >= m.metric_date AND o.created_at < m.metric_date + INTERVAL 1 DAY
+            WHERE m.category_id = '' AND m.region = '' AND o.updated_at > m.refreshed_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Only ever moves back with backdated inserts, so it is looked up once
+    private volatile LocalDate firstActivityDay;
+
+    /**
+     * Recomputes every bucket of the given UTC day. Must run inside a transaction so
+     * readers never see the day half reset.
+     */
+    public void refreshDay(LocalDate day) {
+        Date metricDate = Date.valueOf(day);
+        Timestamp refreshedAt = Timestamp.from(Instant.now());
+        Timestamp from = Timestamp.from(day.atStartOfDay(ZoneOffset.UTC).toInstant());
+        Timestamp to = Timestamp.from(day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+
+        jdbcTemplate.update(RESET_DAY, metricDate);
+
+        for (String sql : List.of(
+                UPSERT_ORDER_TOTALS,
+                UPSERT_ORDERS_BY_REGION,
+                UPSERT_ORDERS_BY_CATEGORY,
+                UPSERT_ORDERS_BY_CATEGORY_AND_REGION,
+                UPSERT_NEW_PRODUCT_TOTALS,
+                UPSERT_NEW_PRODUCTS_BY_CATEGORY,
+                UPSERT_NEW_USERS
+        )) {
+            jdbcTemplate.update(sql, metricDate, refreshedAt, from, to);
+        }
+    }
+
+    @Override
+    public SalesTotals sumRange(String categoryId, String region, LocalDate startDate, LocalDate endDate) {
+        String category = categoryId != null ? categoryId : ALL;
+        String area = region != null ? region : ALL;
+
+        return jdbcTemplate.queryForObject(SUM_RANGE, (rs, rowNum) -> new SalesTotals(
+                rs.getLong("order_count"),
+                rs.getBigDecimal("completed_revenue"),
+                rs.getLong("new_product_count"),
+                rs.getLong("new_user_count")
+        ), category, area, category, area, category, category, area, Date.valueOf(startDate), Date.valueOf(endDate));
+    }
+
+    @Override
+    public List<SeriesBucket> findSeries(String categoryId, String region, BucketInterval interval, LocalDate startDate, LocalDate endDate) {
+        String sql = switch (interval) {
+            case DAY -> DAY_SERIES;
+            case WEEK -> WEEK_SERIES;
+            case HOUR -> throw new IllegalArgumentException("The daily rollup has no hourly buckets");
+        };
+        String category = categoryId != null ? categoryId : ALL;
+        String area = region != null ? region : ALL;
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new SeriesBucket(
+                rs.getDate("bucket").toLocalDate().atStartOfDay(ZoneOffset.UTC).toInstant(),
+                rs.getLong("order_count"),
+                rs.getLong("completed_order_count"),
+                rs.getBigDecimal("completed_revenue"),
+                rs.getLong("new_user_count")
+        ), category, area, category, area, category, area, category, area, Date.valueOf(startDate), Date.valueOf(endDate));
+    }
+
+    @Override
+    public boolean coversRange(LocalDate startDate, LocalDate endDate) {
+        Optional<LocalDate> firstDay = findFirstActivityDay();
+        if (firstDay.isEmpty()) {
+            return true;
+        }
+
+        LocalDate from = startDate.isBefore(firstDay.get()) ? firstDay.get() : startDate;
+        if (from.isAfter(endDate)) {
+            return true;
+        }
+
+        Long rolledUp = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM daily_sales_metrics WHERE category_id = '' AND region = '' AND metric_date BETWEEN ? AND ?",
+                Long.class,
+                Date.valueOf(from),
+                Date.valueOf(endDate)
+        );
+        return rolledUp != null && rolledUp == ChronoUnit.DAYS.between(from, endDate) + 1;
+    }
+
+    /**
+     * UTC day of the oldest order, product or user, empty while there are none.
+     */
+    public Optional<LocalDate> findFirstActivityDay() {
+        if (firstActivityDay == null) {
+            Timestamp first = jdbcTemplate.queryForObject(FIRST_ACTIVITY, Timestamp.class);
+            if (first != null) {
+                firstActivityDay = LocalDate.ofInstant(first.toInstant(), ZoneOffset.UTC);
+            }
+        }
+        return Optional.ofNullable(firstActivityDay);
+    }
+
+    /**
+     * Rolled up days that an order changed on after they were refreshed, e.g. because
+     * the change was made on another node and its dirty mark was lost.
+     */
+    public Set<LocalDate> findStaleDays() {
+        return new HashSet<>(jdbcTemplate.query(STALE_DAYS, (rs, rowNum) -> rs.getDate("metric_date").toLocalDate()));
+    }
+
+    /**
+     * UTC creation days of the given orders, which are the buckets their changes land in.
+     */
+    public Set<LocalDate> findOrderDays(Collection<String> orderIds) {
+        if (orderIds.isEmpty()) {
+            return Set.of();
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(orderIds.size(), "?"));
+        Set<LocalDate> days = new HashSet<>();
+        jdbcTemplate.query(
+                "SELECT created_at FROM orders WHERE id IN (" + placeholders + ") AND created_at IS NOT NULL",
+                (RowCallbackHandler) rs -> days.add(
+                        LocalDate.ofInstant(rs.getTimestamp("created_at").toInstant(), ZoneOffset.UTC)),
+                orderIds.toArray()
+        );
+        return days;
+    }
+
+    /**
+     * Days in the inclusive range that already have their ('', '') row.
+     */
+    public Set<LocalDate> findRolledUpDays(LocalDate startDate, LocalDate endDate) {
+        return new HashSet<>(jdbcTemplate.query(
+                "SELECT metric_date FROM daily_sales_metrics WHERE category_id = '' AND region = '' AND metric_date BETWEEN ? AND ?",
+                (rs, rowNum) -> rs.getDate("metric_date").toLocalDate(),
+                Date.valueOf(startDate),
+                Date.valueOf(endDate)
+        ));
+    }
+}
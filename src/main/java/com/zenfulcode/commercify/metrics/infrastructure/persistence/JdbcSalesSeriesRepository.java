@@ -0,0 +1,110 @@
+package com.zenfulcode.commercify.metrics.infrastructure.persistence;
+
+import com.zenfulcode.commercify.metrics.domain.model.BucketInterval;
+import com.zenfulcode.commercify.metrics.domain.model.SeriesBucket;
+import com.zenfulcode.commercify.metrics.domain.repository.SalesSeriesRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Grouped series queries over the source tables: one query for orders and one for new
+ * users, whatever the number of buckets. Bucket boundaries are computed by the database
+ * on the stored created_at values, so they line up with the UTC rollup buckets as long
+ * as created_at is stored in UTC.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcSalesSeriesRepository implements SalesSeriesRepository {
+    private static final String SHIPPING_JOIN = " JOIN order_shipping_info s ON s.id = o.order_shipping_info_id";
+    private static final String LINES_JOIN = " JOIN order_lines l ON l.order_id = o.id JOIN products p ON p.id = l.product_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<SeriesBucket> findSeries(String categoryId, String region, BucketInterval interval, Instant start, Instant end) {
+        Map<Instant, SeriesBucket> buckets = new TreeMap<>();
+
+        // Rows are folded in as they arrive; nothing but the buckets is kept in memory
+        queryOrders(categoryId, region, interval, start, end, rs -> {
+            Instant bucket = rs.getTimestamp("bucket").toInstant();
+            buckets.put(bucket, new SeriesBucket(
+                    bucket,
+                    rs.getLong("order_count"),
+                    rs.getLong("completed_order_count"),
+                    rs.getBigDecimal("completed_revenue"),
+                    0
+            ));
+        });
+
+        jdbcTemplate.query(
+                "SELECT " + bucketExpression(interval, "u.created_at") + " AS bucket, COUNT(*) AS new_user_count"
+                        + " FROM users u WHERE u.created_at >= ? AND u.created_at < ?"
+                        + " GROUP BY bucket",
+                (RowCallbackHandler) rs -> {
+                    Instant bucket = rs.getTimestamp("bucket").toInstant();
+                    buckets.put(bucket, buckets.getOrDefault(bucket, SeriesBucket.empty(bucket))
+                            .withNewUserCount(rs.getLong("new_user_count")));
+                },
+                Timestamp.from(start),
+                Timestamp.from(end)
+        );
+
+        return new ArrayList<>(buckets.values());
+    }
+
+    private void queryOrders(String categoryId, String region, BucketInterval interval, Instant start, Instant end,
+                             RowCallbackHandler handler) {
+        // Revenue is the order subtotal, or filtered by category the subtotal of the matching
+        // lines, as in the rollup
+        String revenue = categoryId != null ? "l.unit_price * l.quantity" : "o.subtotal";
+
+        StringBuilder sql = new StringBuilder()
+                .append("SELECT ").append(bucketExpression(interval, "o.created_at")).append(" AS bucket,")
+                .append(" COUNT(DISTINCT o.id) AS order_count,")
+                .append(" COUNT(DISTINCT CASE WHEN o.status = 'COMPLETED' THEN o.id END) AS completed_order_count,")
+                .append(" COALESCE(SUM(CASE WHEN o.status = 'COMPLETED' THEN ").append(revenue).append(" END), 0) AS completed_revenue")
+                .append(" FROM orders o");
+
+        List<Object> args = new ArrayList<>();
+        if (categoryId != null) {
+            sql.append(LINES_JOIN);
+        }
+        if (region != null) {
+            sql.append(SHIPPING_JOIN);
+        }
+
+        sql.append(" WHERE o.created_at >= ? AND o.created_at < ?");
+        args.add(Timestamp.from(start));
+        args.add(Timestamp.from(end));
+
+        if (categoryId != null) {
+            sql.append(" AND p.category_id = ?");
+            args.add(categoryId);
+        }
+        if (region != null) {
+            sql.append(" AND s.shipping_country = ?");
+            args.add(region);
+        }
+
+        sql.append(" GROUP BY bucket");
+
+        jdbcTemplate.query(sql.toString(), handler, args.toArray());
+    }
+
+    private static String bucketExpression(BucketInterval interval, String column) {
+        return switch (interval) {
+            case HOUR -> "TIMESTAMP(DATE_FORMAT(" + column + ", '%Y-%m-%d %H:00:00'))";
+            case DAY -> "TIMESTAMP(DATE(" + column + "))";
+            case WEEK -> "TIMESTAMP(DATE_SUB(DATE(" + column + "), INTERVAL WEEKDAY(" + column + ") DAY))";
+        };
+    }
+}
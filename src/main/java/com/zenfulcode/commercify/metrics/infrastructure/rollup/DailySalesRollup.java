@@ -0,0 +1,137 @@
+package com.zenfulcode.commercify.metrics.infrastructure.rollup;
+
+import com.zenfulcode.commercify.metrics.infrastructure.config.MetricsProperties;
+import com.zenfulcode.commercify.metrics.infrastructure.persistence.JdbcDailySalesMetricsRepository;
+import com.zenfulcode.commercify.order.domain.valueobject.OrderId;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps daily_sales_metrics current. Committed events mark the day buckets they touch
+ * as dirty and a short refresh loop recomputes those days. A slower reconcile pass
+ * recomputes the last few days, days whose orders changed after their last refresh and
+ * every day since the first order, product or user that was never rolled up, which
+ * covers changes made on other nodes or lost with a restart.
+ */
+@Slf4j
+@Component
+public class DailySalesRollup {
+    private final JdbcDailySalesMetricsRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final MetricsProperties.Rollup config;
+
+    private final Set<LocalDate> dirtyDays = ConcurrentHashMap.newKeySet();
+    // Status changes only know the order; its bucket is resolved in the refresh batch
+    private final Set<String> dirtyOrders = ConcurrentHashMap.newKeySet();
+
+    public DailySalesRollup(
+            JdbcDailySalesMetricsRepository repository,
+            TransactionTemplate transactionTemplate,
+            MetricsProperties properties
+    ) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.config = properties.getRollup();
+    }
+
+    public void markDayDirty(Instant occurredOn) {
+        dirtyDays.add(LocalDate.ofInstant(occurredOn, ZoneOffset.UTC));
+    }
+
+    public void markOrderDirty(OrderId orderId) {
+        dirtyOrders.add(orderId.getId());
+    }
+
+    @Scheduled(fixedDelayString = "${commercify.metrics.rollup.refresh-interval-ms:15000}")
+    public void refresh() {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        Set<LocalDate> days = drain(dirtyDays);
+        Set<String> orders = drain(dirtyOrders);
+        try {
+            days.addAll(repository.findOrderDays(orders));
+        } catch (RuntimeException e) {
+            log.warn("Could not resolve days of {} changed orders, retrying next refresh", orders.size(), e);
+            dirtyOrders.addAll(orders);
+        }
+
+        for (LocalDate day : days) {
+            if (!refreshDay(day)) {
+                dirtyDays.add(day);
+            }
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${commercify.metrics.rollup.refresh-interval-ms:15000}",
+            fixedDelayString = "${commercify.metrics.rollup.reconcile-interval-ms:3600000}"
+    )
+    public void reconcile() {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        for (int i = 0; i < config.getReconcileDays(); i++) {
+            refreshDay(today.minusDays(i));
+        }
+
+        // Orders changed after their day was refreshed, whose dirty mark never arrived here
+        int stale = 0;
+        for (LocalDate day : repository.findStaleDays()) {
+            if (refreshDay(day)) {
+                stale++;
+            }
+        }
+
+        Optional<LocalDate> firstDay = repository.findFirstActivityDay();
+        LocalDate backfillEnd = today.minusDays(config.getReconcileDays());
+        int filled = 0;
+        if (firstDay.isPresent() && !backfillEnd.isBefore(firstDay.get())) {
+            Set<LocalDate> rolledUp = repository.findRolledUpDays(firstDay.get(), backfillEnd);
+            for (LocalDate day = firstDay.get(); !day.isAfter(backfillEnd); day = day.plusDays(1)) {
+                if (!rolledUp.contains(day) && refreshDay(day)) {
+                    filled++;
+                }
+            }
+        }
+
+        if (stale > 0 || filled > 0) {
+            log.info("Reconciled {} stale and backfilled {} missing days of sales metrics", stale, filled);
+        }
+    }
+
+    private boolean refreshDay(LocalDate day) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> repository.refreshDay(day));
+            return true;
+        } catch (RuntimeException e) {
+            // Typically a lock conflict with another node refreshing the same day
+            log.warn("Failed to refresh sales metrics for {}", day, e);
+            return false;
+        }
+    }
+
+    private static <T> Set<T> drain(Set<T> source) {
+        Set<T> drained = new HashSet<>();
+        for (T item : List.copyOf(source)) {
+            if (source.remove(item)) {
+                drained.add(item);
+            }
+        }
+        return drained;
+    }
+}
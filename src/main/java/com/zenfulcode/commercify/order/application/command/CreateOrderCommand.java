@@ -13,6 +13,7 @@ public record CreateOrderCommand(
         CustomerDetails customerDetails,
         Address shippingAddress,
         Address billingAddress,
-        List<OrderLineDetails> orderLines
+        List<OrderLineDetails> orderLines,
+        boolean guestCheckout
 ) {
 }
@@ -0,0 +1,29 @@
+package com.zenfulcode.commercify.order.application.dto;
+
+import com.zenfulcode.commercify.order.domain.model.OrderStatus;
+import com.zenfulcode.commercify.order.domain.valueobject.OrderId;
+import com.zenfulcode.commercify.order.domain.valueobject.OrderSummary;
+import com.zenfulcode.commercify.shared.domain.model.Money;
+import com.zenfulcode.commercify.user.domain.valueobject.UserId;
+
+import java.time.Instant;
+
+public record OrderSummaryDTO(OrderId id,
+                              UserId userId,
+                              String customerName,
+                              OrderStatus status,
+                              int orderLineCount,
+                              Money totalAmount,
+                              Instant createdAt) {
+    public static OrderSummaryDTO from(OrderSummary summary) {
+        return new OrderSummaryDTO(
+                summary.id(),
+                summary.userId(),
+                summary.customerName(),
+                summary.status(),
+                summary.orderLineCount(),
+                summary.totalAmount(),
+                summary.createdAt()
+        );
+    }
+}
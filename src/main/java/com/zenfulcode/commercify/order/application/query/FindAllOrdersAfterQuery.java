@@ -0,0 +1,9 @@
+package com.zenfulcode.commercify.order.application.query;
+
+import com.zenfulcode.commercify.shared.domain.valueobject.PageCursor;
+
+public record FindAllOrdersAfterQuery(
+        PageCursor after,
+        int size
+) {
+}
@@ -5,13 +5,16 @@ import com.zenfulcode.commercify.order.application.command.CreateOrderCommand;
 import com.zenfulcode.commercify.order.application.command.GetOrderByIdCommand;
 import com.zenfulcode.commercify.order.application.command.UpdateOrderStatusCommand;
 import com.zenfulcode.commercify.order.application.dto.OrderDetailsDTO;
+import com.zenfulcode.commercify.order.application.dto.OrderSummaryDTO;
 import com.zenfulcode.commercify.order.application.query.CalculateTotalRevenueQuery;
 import com.zenfulcode.commercify.order.application.query.CountOrdersInPeriodQuery;
+import com.zenfulcode.commercify.order.application.query.FindAllOrdersAfterQuery;
 import com.zenfulcode.commercify.order.application.query.FindAllOrdersQuery;
 import com.zenfulcode.commercify.order.application.query.FindOrdersByUserIdQuery;
 import com.zenfulcode.commercify.order.domain.model.Order;
 import com.zenfulcode.commercify.order.domain.model.OrderStatus;
 import com.zenfulcode.commercify.order.domain.service.OrderDomainService;
+import com.zenfulcode.commercify.order.domain.valueobject.CustomerDetails;
 import com.zenfulcode.commercify.order.domain.valueobject.OrderDetails;
 import com.zenfulcode.commercify.order.domain.valueobject.OrderId;
 import com.zenfulcode.commercify.order.domain.valueobject.OrderLineDetails;
@@ -21,9 +24,11 @@ import com.zenfulcode.commercify.product.domain.model.ProductVariant;
 import com.zenfulcode.commercify.product.domain.valueobject.ProductId;
 import com.zenfulcode.commercify.product.domain.valueobject.VariantId;
 import com.zenfulcode.commercify.shared.domain.event.DomainEventPublisher;
+import com.zenfulcode.commercify.user.application.service.UserApplicationService;
 import com.zenfulcode.commercify.user.domain.valueobject.UserId;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -38,6 +43,7 @@ public class OrderApplicationService {
     private final OrderDomainService orderDomainService;
     private final DomainEventPublisher eventPublisher;
     private final ProductApplicationService productApplicationService;
+    private final UserApplicationService userApplicationService;
 
     @Transactional
     public OrderId createOrder(CreateOrderCommand command) {
@@ -57,6 +63,17 @@ public class OrderApplicationService {
 
         List<ProductVariant> variants = productApplicationService.findVariantsByIds(variantIds);
 
+        // Guest sessions only get a user row once they actually place an order
+        if (command.guestCheckout()) {
+            CustomerDetails customer = command.customerDetails();
+            userApplicationService.materializeGuest(
+                    command.customerId(),
+                    customer.firstName(),
+                    customer.lastName(),
+                    customer.phone()
+            );
+        }
+
         // Create order through domain service
         Order order = orderDomainService.createOrder(
                 OrderDetails.builder()
@@ -94,13 +111,18 @@ public class OrderApplicationService {
     }
 
     @Transactional(readOnly = true)
-    public Page<Order> findOrdersByUserId(FindOrdersByUserIdQuery query) {
-        return orderDomainService.findOrdersByUserId(query);
+    public Page<OrderSummaryDTO> findOrdersByUserId(FindOrdersByUserIdQuery query) {
+        return orderDomainService.findOrdersByUserId(query).map(OrderSummaryDTO::from);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<OrderSummaryDTO> findAllOrders(FindAllOrdersQuery query) {
+        return orderDomainService.findAllOrders(query).map(OrderSummaryDTO::from);
     }
 
     @Transactional(readOnly = true)
-    public Page<Order> findAllOrders(FindAllOrdersQuery query) {
-        return orderDomainService.findAllOrders(query);
+    public Slice<OrderSummaryDTO> findAllOrders(FindAllOrdersAfterQuery query) {
+        return orderDomainService.findAllOrders(query).map(OrderSummaryDTO::from);
     }
 
     @Transactional(readOnly = true)
@@ -115,6 +137,11 @@ public class OrderApplicationService {
         return orderDomainService.getOrderById(orderId);
     }
 
+    @Transactional(readOnly = true)
+    public Order getOrderWithLinesById(OrderId orderId) {
+        return orderDomainService.getOrderWithLinesById(orderId);
+    }
+
     @Transactional(readOnly = true)
     public boolean isOrderOwnedByUser(OrderId orderId, UserId userId) {
         return orderDomainService.isOrderOwnedByUser(orderId, userId);
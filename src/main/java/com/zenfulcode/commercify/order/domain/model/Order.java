@@ -10,10 +10,12 @@ import com.zenfulcode.commercify.shared.domain.model.Money;
 import com.zenfulcode.commercify.user.domain.model.User;
 import com.zenfulcode.commercify.user.domain.valueobject.UserId;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
 
 import java.time.Instant;
 import java.util.LinkedHashSet;
@@ -23,7 +25,7 @@ import java.util.Set;
 @Setter
 @Entity
 @Table(name = "orders")
-public class Order extends AggregateRoot {
+public class Order extends AggregateRoot implements Persistable<OrderId> {
     @EmbeddedId
     private OrderId id;
 
@@ -82,6 +84,13 @@ public class Order extends AggregateRoot {
     @Column(name = "updated_at")
     private Instant updatedAt;
 
+    // Lets save() persist new orders directly instead of merging, which would SELECT every
+    // order line by its assigned id before inserting it
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newOrder;
+
     // Factory method
     public static Order create(
             UserId userId,
@@ -94,6 +103,7 @@ public class Order extends AggregateRoot {
         order.status = OrderStatus.PENDING;
         order.orderShippingInfo = shippingInfo;
         order.totalAmount = Money.zero("USD");
+        order.newOrder = true;
 
         // Register domain event
         order.registerEvent(new OrderCreatedEvent(
@@ -177,4 +187,15 @@ public class Order extends AggregateRoot {
     public boolean isCompleted() {
         return status == OrderStatus.COMPLETED;
     }
+
+    @Override
+    public boolean isNew() {
+        return newOrder;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.newOrder = false;
+    }
 }
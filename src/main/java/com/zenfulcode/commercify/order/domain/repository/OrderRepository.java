@@ -2,9 +2,12 @@ package com.zenfulcode.commercify.order.domain.repository;
 
 import com.zenfulcode.commercify.order.domain.model.Order;
 import com.zenfulcode.commercify.order.domain.valueobject.OrderId;
+import com.zenfulcode.commercify.order.domain.valueobject.OrderSummary;
+import com.zenfulcode.commercify.shared.domain.valueobject.PageCursor;
 import com.zenfulcode.commercify.user.domain.valueobject.UserId;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -15,9 +18,14 @@ public interface OrderRepository {
 
     Optional<Order> findById(OrderId id);
 
-    Page<Order> findByUserId(UserId userId, PageRequest pageRequest);
+    // Loads the shipping info, lines, products and variants along with the order
+    Optional<Order> findWithLinesById(OrderId id);
 
-    Page<Order> findAll(PageRequest pageRequest);
+    Page<OrderSummary> findSummariesByUserId(UserId userId, PageRequest pageRequest);
+
+    Page<OrderSummary> findSummaries(PageRequest pageRequest);
+
+    Slice<OrderSummary> findSummariesAfter(PageCursor after, int size);
 
     boolean existsByIdAndUserId(OrderId id, UserId userId);
 
@@ -1,5 +1,6 @@
 package com.zenfulcode.commercify.order.domain.service;
 
+import com.zenfulcode.commercify.order.application.query.FindAllOrdersAfterQuery;
 import com.zenfulcode.commercify.order.application.query.FindAllOrdersQuery;
 import com.zenfulcode.commercify.order.application.query.FindOrdersByUserIdQuery;
 import com.zenfulcode.commercify.order.domain.exception.OrderNotFoundException;
@@ -11,35 +12,49 @@ import com.zenfulcode.commercify.order.domain.repository.OrderRepository;
 import com.zenfulcode.commercify.order.domain.valueobject.OrderDetails;
 import com.zenfulcode.commercify.order.domain.valueobject.OrderId;
 import com.zenfulcode.commercify.order.domain.valueobject.OrderLineDetails;
+import com.zenfulcode.commercify.order.domain.valueobject.OrderSummary;
 import com.zenfulcode.commercify.product.domain.model.Product;
 import com.zenfulcode.commercify.product.domain.model.ProductVariant;
+import com.zenfulcode.commercify.product.domain.service.InventoryReservationService;
 import com.zenfulcode.commercify.product.domain.valueobject.ProductId;
+import com.zenfulcode.commercify.product.domain.valueobject.StockReservation;
 import com.zenfulcode.commercify.shared.domain.model.Money;
 import com.zenfulcode.commercify.user.domain.model.User;
 import com.zenfulcode.commercify.user.domain.service.UserDomainService;
 import com.zenfulcode.commercify.user.domain.valueobject.UserId;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class OrderDomainService {
+    // Orders in these states no longer hold their stock reservation
+    private static final Set<OrderStatus> RELEASED_STATUSES = EnumSet.of(
+            OrderStatus.FAILED,
+            OrderStatus.ABANDONED,
+            OrderStatus.CANCELLED
+    );
+
     private final OrderPricingStrategy pricingStrategy;
     private final OrderValidationService validationService;
 
     private final OrderRepository orderRepository;
 
     private final UserDomainService userDomainService;
+    private final InventoryReservationService inventoryReservationService;
 
     public Order createOrder(OrderDetails orderDetails, List<Product> products, List<ProductVariant> variants) {
         // Create order with shipping info
@@ -95,6 +110,10 @@ public class OrderDomainService {
         // Using validationService for order validation
         validationService.validateCreateOrder(order);
 
+        // Atomically take the stock; the in-memory check above only fails fast
+        inventoryReservationService.reserve(stockReservations(order));
+
+        // Single save; lines and shipping info cascade and are flushed together at commit
         orderRepository.save(order);
 
         return order;
@@ -111,28 +130,64 @@ public class OrderDomainService {
         order.setTax(tax);
 
         order.updateTotal();
-        orderRepository.save(order);
     }
 
     public void updateOrderStatus(Order order, OrderStatus newStatus) {
         // Using validationService for status transition validation
         validationService.validateStatusTransition(order, newStatus);
 
+        OrderStatus oldStatus = order.getStatus();
         order.updateStatus(newStatus);
+        updateStockReservation(order, oldStatus, newStatus);
+
         orderRepository.save(order);
     }
 
+    private void updateStockReservation(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
+        boolean wasReleased = RELEASED_STATUSES.contains(oldStatus);
+        boolean isReleased = RELEASED_STATUSES.contains(newStatus);
+
+        if (!wasReleased && isReleased) {
+            inventoryReservationService.release(stockReservations(order));
+        } else if (wasReleased && !isReleased) {
+            // e.g. an abandoned order being resumed has to win its stock back
+            inventoryReservationService.reserve(stockReservations(order));
+        }
+    }
+
+    private List<StockReservation> stockReservations(Order order) {
+        return order.getOrderLines().stream()
+                .map(line -> {
+                    ProductVariant variant = line.getProductVariant();
+                    // Variants without their own stock draw from the product
+                    if (variant != null && variant.getStock() != null) {
+                        return StockReservation.ofVariant(line.getProduct().getId(), variant.getId(), line.getQuantity());
+                    }
+                    return StockReservation.ofProduct(line.getProduct().getId(), line.getQuantity());
+                })
+                .toList();
+    }
+
     public Order getOrderById(OrderId orderId) {
         return orderRepository.findById(orderId)
                 .orElseThrow(() -> new OrderNotFoundException(orderId));
     }
 
-    public Page<Order> findOrdersByUserId(FindOrdersByUserIdQuery query) {
-        return orderRepository.findByUserId(query.userId(), query.pageRequest());
+    public Order getOrderWithLinesById(OrderId orderId) {
+        return orderRepository.findWithLinesById(orderId)
+                .orElseThrow(() -> new OrderNotFoundException(orderId));
+    }
+
+    public Page<OrderSummary> findOrdersByUserId(FindOrdersByUserIdQuery query) {
+        return orderRepository.findSummariesByUserId(query.userId(), query.pageRequest());
+    }
+
+    public Page<OrderSummary> findAllOrders(FindAllOrdersQuery query) {
+        return orderRepository.findSummaries(query.pageRequest());
     }
 
-    public Page<Order> findAllOrders(FindAllOrdersQuery query) {
-        return orderRepository.findAll(query.pageRequest());
+    public Slice<OrderSummary> findAllOrders(FindAllOrdersAfterQuery query) {
+        return orderRepository.findSummariesAfter(query.after(), query.size());
     }
 
     public boolean isOrderOwnedByUser(OrderId orderId, UserId userId) {
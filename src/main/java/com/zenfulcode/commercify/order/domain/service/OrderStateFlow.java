@@ -15,7 +15,8 @@ public class OrderStateFlow {
 
         validTransitions.put(OrderStatus.PENDING, Set.of(
                 OrderStatus.PAID,
-                OrderStatus.ABANDONED
+                OrderStatus.ABANDONED,
+                OrderStatus.FAILED
         ));
 
         validTransitions.put(OrderStatus.ABANDONED, Set.of(
@@ -39,6 +40,7 @@ public class OrderStateFlow {
         // Terminal states
         validTransitions.put(OrderStatus.CANCELLED, Set.of());
         validTransitions.put(OrderStatus.REFUNDED, Set.of());
+        validTransitions.put(OrderStatus.FAILED, Set.of());
     }
 
     public boolean canTransition(OrderStatus currentState, OrderStatus newState) {
@@ -0,0 +1,53 @@
+package com.zenfulcode.commercify.order.domain.valueobject;
+
+import com.zenfulcode.commercify.order.domain.model.OrderStatus;
+import com.zenfulcode.commercify.shared.domain.model.Money;
+import com.zenfulcode.commercify.user.domain.valueobject.UserId;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Read model of an order in the listings, projected without loading the order aggregate.
+ */
+public record OrderSummary(OrderId id,
+                           UserId userId,
+                           String customerName,
+                           OrderStatus status,
+                           int orderLineCount,
+                           Money totalAmount,
+                           Instant createdAt) {
+    /**
+     * Used by the JPQL constructor expression in the order listing queries.
+     */
+    public OrderSummary(String id,
+                        String userId,
+                        String customerFirstName,
+                        String customerLastName,
+                        OrderStatus status,
+                        Long orderLineCount,
+                        BigDecimal totalAmount,
+                        String currency,
+                        Instant createdAt) {
+        this(
+                OrderId.of(id),
+                UserId.of(userId),
+                customerName(customerFirstName, customerLastName),
+                status,
+                orderLineCount.intValue(),
+                Money.of(totalAmount, currency),
+                createdAt
+        );
+    }
+
+    // Orders without shipping info come out of the outer join with both names null
+    private static String customerName(String firstName, String lastName) {
+        String name = Stream.of(firstName, lastName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(" "));
+        return name.isEmpty() ? null : name;
+    }
+}
@@ -1,13 +1,13 @@
 package com.zenfulcode.commercify.order.infrastructure.messaging.events;
 
-import com.zenfulcode.commercify.order.application.service.OrderApplicationService;
 import com.zenfulcode.commercify.order.domain.event.OrderStatusChangedEvent;
 import com.zenfulcode.commercify.order.domain.model.Order;
+import com.zenfulcode.commercify.order.domain.service.OrderDomainService;
 import com.zenfulcode.commercify.order.infrastructure.notification.OrderEmailNotificationService;
+import com.zenfulcode.commercify.order.infrastructure.notification.OrderEmailView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,28 +15,43 @@ import org.springframework.transaction.annotation.Transactional;
 @Component
 @RequiredArgsConstructor
 public class OrderEmailHandler {
-    private final OrderApplicationService orderService;
+    private final OrderDomainService orderDomainService;
     private final OrderEmailNotificationService notificationService;
 
-    @Async
+    /**
+     * Renders and queues the emails on the publishing thread, joining its transaction so
+     * the emails commit together with the status change. The cost is the template
+     * rendering, a few milliseconds, added to the request that changed the status, which
+     * is the webhook request when webhooks are processed synchronously.
+     * <p>
+     * The order is loaded through the domain service rather than the transactional
+     * application service, so a missing order or a template failure is only logged and
+     * does not mark the caller's transaction rollback-only.
+     */
     @EventListener
-    @Transactional(readOnly = true)
+    @Transactional
     public void handleOrderStatusChanged(OrderStatusChangedEvent event) {
-        log.info("Sending email confirmation notification for order: {}", event.getOrderId());
+        if (!event.isPaidTransition() && !event.isShippingTransition() && !event.isCompletedTransition()) {
+            return;
+        }
+
+        log.info("Queuing email notifications for order: {}", event.getOrderId());
         try {
-            Order order = orderService.getOrderById(event.getOrderId());
+            Order order = orderDomainService.getOrderWithLinesById(event.getOrderId());
+            // One view per event, shared by the customer and admin emails
+            OrderEmailView view = OrderEmailView.from(order);
 
             if (event.isPaidTransition()) {
-                log.info("Sending order confirmation email for order: {}", order.getId());
-                notificationService.sendOrderConfirmation(order);
-                notificationService.notifyAdminNewOrder(order);
+                log.info("Sending order confirmation email for order: {}", view.id());
+                notificationService.sendOrderConfirmation(view);
+                notificationService.notifyAdminNewOrder(view);
 
             } else if (event.isShippingTransition()) {
-                log.info("Sending shipping confirmation email for order: {}", order.getId());
-                notificationService.sendShippingConfirmation(order);
+                log.info("Sending shipping confirmation email for order: {}", view.id());
+                notificationService.sendShippingConfirmation(view);
             } else if (event.isCompletedTransition()) {
-                log.info("Sending order status update email for order: {}", order.getId());
-                notificationService.sendOrderStatusUpdate(order);
+                log.info("Sending order status update email for order: {}", view.id());
+                notificationService.sendOrderStatusUpdate(view);
             }
         } catch (Exception e) {
             log.error("Failed to send order status update notification", e);
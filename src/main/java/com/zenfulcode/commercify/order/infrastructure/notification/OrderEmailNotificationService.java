@@ -1,21 +1,22 @@
 package com.zenfulcode.commercify.order.infrastructure.notification;
 
 import com.zenfulcode.commercify.order.domain.model.Order;
-import com.zenfulcode.commercify.order.domain.model.OrderLine;
 import com.zenfulcode.commercify.order.domain.service.OrderNotificationService;
+import com.zenfulcode.commercify.order.domain.valueobject.Address;
 import com.zenfulcode.commercify.shared.domain.exception.EmailSendingException;
 import com.zenfulcode.commercify.shared.infrastructure.service.EmailService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
-import java.util.HashMap;
+import java.time.Instant;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 
 @Service
 @Slf4j
@@ -37,127 +38,127 @@ public class OrderEmailNotificationService implements OrderNotificationService {
 
     @Override
     public void sendOrderConfirmation(Order order) {
+        sendOrderConfirmation(OrderEmailView.from(order));
+    }
+
+    @Override
+    public void sendOrderStatusUpdate(Order order) {
+        sendOrderStatusUpdate(OrderEmailView.from(order));
+    }
+
+    @Override
+    public void sendShippingConfirmation(Order order) {
+        sendShippingConfirmation(OrderEmailView.from(order));
+    }
+
+    @Override
+    public void notifyAdminNewOrder(Order order) {
+        notifyAdminNewOrder(OrderEmailView.from(order));
+    }
+
+    public void sendOrderConfirmation(OrderEmailView order) {
         try {
-            Context context = createOrderContext(order);
-            String emailContent = templateEngine.process(ORDER_CONFIRMATION_TEMPLATE, context);
-            emailService.sendEmail(
-                    order.getOrderShippingInfo().toCustomerDetails().email(),
-                    "Order Confirmation - #" + order.getId(),
+            String emailContent = templateEngine.process(ORDER_CONFIRMATION_TEMPLATE, createOrderContext(order));
+            emailService.queueEmail(
+                    "order-confirmation:" + order.id(),
+                    order.customerEmail(),
+                    "Order Confirmation - #" + order.id(),
                     emailContent, true
             );
-            log.info("Order confirmation email sent for order: {}", order.getId());
+            log.info("Order confirmation email queued for order: {}", order.id());
         } catch (Exception e) {
-            log.error("Failed to send order confirmation email", e);
-            throw new EmailSendingException("Failed to send order confirmation email: " + e.getMessage());
+            log.error("Failed to queue order confirmation email", e);
+            throw new EmailSendingException("Failed to queue order confirmation email: " + e.getMessage());
         }
     }
 
-    @Override
-    public void sendOrderStatusUpdate(Order order) {
+    public void sendOrderStatusUpdate(OrderEmailView order) {
         try {
-            Context context = createOrderContext(order);
-            String emailContent = templateEngine.process(ORDER_STATUS_UPDATE_TEMPLATE, context);
-            emailService.sendEmail(
-                    order.getOrderShippingInfo().toCustomerDetails().email(),
-                    "Order Status Update - #" + order.getId(),
+            String emailContent = templateEngine.process(ORDER_STATUS_UPDATE_TEMPLATE, createOrderContext(order));
+            emailService.queueEmail(
+                    "order-status:" + order.id() + ":" + order.status(),
+                    order.customerEmail(),
+                    "Order Status Update - #" + order.id(),
                     emailContent, true
             );
-            log.info("Order status update email sent for order: {}", order.getId());
+            log.info("Order status update email queued for order: {}", order.id());
         } catch (Exception e) {
-            log.error("Failed to send order status update email", e);
-            throw new EmailSendingException("Failed to send order status update email: " + e.getMessage());
+            log.error("Failed to queue order status update email", e);
+            throw new EmailSendingException("Failed to queue order status update email: " + e.getMessage());
         }
     }
 
-    @Override
-    public void sendShippingConfirmation(Order order) {
+    public void sendShippingConfirmation(OrderEmailView order) {
         try {
-            Context context = createOrderContext(order);
-            String emailContent = templateEngine.process(ORDER_SHIPPING_TEMPLATE, context);
-            emailService.sendEmail(
-                    order.getOrderShippingInfo().toCustomerDetails().email(),
-                    "Order Shipped - #" + order.getId(),
+            String emailContent = templateEngine.process(ORDER_SHIPPING_TEMPLATE, createOrderContext(order));
+            emailService.queueEmail(
+                    "order-shipping:" + order.id(),
+                    order.customerEmail(),
+                    "Order Shipped - #" + order.id(),
                     emailContent, true
             );
-            log.info("Order shipping confirmation email sent for order: {}", order.getId());
+            log.info("Order shipping confirmation email queued for order: {}", order.id());
         } catch (Exception e) {
-            log.error("Failed to send shipping confirmation email", e);
-            throw new EmailSendingException("Failed to send shipping confirmation email: " + e.getMessage());
+            log.error("Failed to queue shipping confirmation email", e);
+            throw new EmailSendingException("Failed to queue shipping confirmation email: " + e.getMessage());
         }
     }
 
-    @Override
-    public void notifyAdminNewOrder(Order order) {
+    public void notifyAdminNewOrder(OrderEmailView order) {
         try {
-            Context context = createAdminOrderContext(order);
-            String emailContent = templateEngine.process(ADMIN_ORDER_TEMPLATE, context);
-            emailService.sendEmail(
+            String emailContent = templateEngine.process(ADMIN_ORDER_TEMPLATE, createAdminOrderContext(order));
+            emailService.queueEmail(
+                    "order-admin:" + order.id(),
                     adminEmail,
-                    "New Order Received - #" + order.getId(),
+                    "New Order Received - #" + order.id(),
                     emailContent, true
             );
-            log.info("Admin notification sent for order: {}", order.getId());
+            log.info("Admin notification queued for order: {}", order.id());
         } catch (Exception e) {
-            log.error("Failed to send admin notification", e);
-            throw new EmailSendingException("Failed to send admin notification: " + e.getMessage());
+            log.error("Failed to queue admin notification", e);
+            throw new EmailSendingException("Failed to queue admin notification: " + e.getMessage());
         }
     }
 
-    private Context createOrderContext(Order order) {
-        Context context = new Context(Locale.getDefault());
+    /**
+     * Renders every template once at startup, so the first order does not pay for parsing
+     * them into the template cache and a broken template shows up at boot.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmTemplateCache() {
+        Address address = new Address("Street 1", "City", null, "0000", "DK");
+        OrderEmailView sample = new OrderEmailView(
+                "sample", "sample", "Customer", null, "customer@example.com", "PAID",
+                Instant.now(), "DKK", 0,
+                List.of(new OrderEmailView.Item("Product", "", 1, "sku", 0, 0)),
+                address, address
+        );
+
+        for (String template : List.of(ORDER_CONFIRMATION_TEMPLATE, ORDER_STATUS_UPDATE_TEMPLATE, ORDER_SHIPPING_TEMPLATE)) {
+            warm(template, createOrderContext(sample));
+        }
+        warm(ADMIN_ORDER_TEMPLATE, createAdminOrderContext(sample));
+    }
 
-        List<Map<String, Object>> orderItems = order.getOrderLines().stream()
-                .map(this::createOrderItemMap)
-                .toList();
-
-        Map<String, Object> shippingAddress = new HashMap<>();
-        shippingAddress.put("city", order.getOrderShippingInfo().toShippingAddress().city());
-        shippingAddress.put("zipCode", order.getOrderShippingInfo().toShippingAddress().zipCode());
-        shippingAddress.put("country", order.getOrderShippingInfo().toShippingAddress().country());
-        shippingAddress.put("street", order.getOrderShippingInfo().toShippingAddress().street());
-        shippingAddress.put("state", order.getOrderShippingInfo().toShippingAddress().state());
-        context.setVariable("shippingAddress", shippingAddress);
-
-        Map<String, Object> billingAddress = new HashMap<>();
-        billingAddress.put("city", order.getOrderShippingInfo().toBillingAddress().city());
-        billingAddress.put("zipCode", order.getOrderShippingInfo().toBillingAddress().zipCode());
-        billingAddress.put("country", order.getOrderShippingInfo().toBillingAddress().country());
-        billingAddress.put("street", order.getOrderShippingInfo().toBillingAddress().street());
-        billingAddress.put("state", order.getOrderShippingInfo().toBillingAddress().state());
-        context.setVariable("billingAddress", billingAddress);
-
-        Map<String, Object> details = new HashMap<>();
-        details.put("id", order.getId().toString());
-        details.put("customerName", order.getOrderShippingInfo().getCustomerName());
-        details.put("customerPhone", order.getOrderShippingInfo().getCustomerPhone());
-        details.put("customerEmail", order.getOrderShippingInfo().getCustomerEmail());
-        details.put("orderNumber", order.getId().toString());
-        details.put("status", order.getStatus().toString());
-        details.put("createdAt", order.getCreatedAt());
-        details.put("currency", order.getCurrency());
-        details.put("totalAmount", order.getTotalAmount().getAmount().doubleValue());
-        details.put("items", orderItems);
-        context.setVariable("order", details);
-        return context;
+    private void warm(String template, Context context) {
+        try {
+            templateEngine.process(template, context);
+        } catch (Exception e) {
+            log.error("Failed to render email template: {}", template, e);
+        }
     }
 
-    private Context createAdminOrderContext(Order order) {
-        Context context = createOrderContext(order);
-        context.setVariable("adminOrderUrl", String.format("%s/%s", orderDashboard, order.getId().toString()));
+    private Context createOrderContext(OrderEmailView order) {
+        Context context = new Context(Locale.getDefault());
+        context.setVariable("order", order);
+        context.setVariable("shippingAddress", order.shippingAddress());
+        context.setVariable("billingAddress", order.billingAddress());
         return context;
     }
 
-    private Map<String, Object> createOrderItemMap(OrderLine orderLine) {
-        Map<String, Object> items = new HashMap<>();
-
-        items.put("name", orderLine.getProduct().getName());
-        items.put("variant", orderLine.getProductVariant() != null ?
-                orderLine.getProductVariant().getSku() : "");
-        items.put("quantity", orderLine.getQuantity());
-        items.put("sku", orderLine.getProductVariant() != null ?
-                orderLine.getProductVariant().getSku() : orderLine.getProduct().getId().toString());
-        items.put("unitPrice", orderLine.getUnitPrice().getAmount().doubleValue());
-        items.put("total", orderLine.getTotal().getAmount().doubleValue());
-        return items;
+    private Context createAdminOrderContext(OrderEmailView order) {
+        Context context = createOrderContext(order);
+        context.setVariable("adminOrderUrl", String.format("%s/%s", orderDashboard, order.id()));
+        return context;
     }
-}
\ No newline at end of file
+}
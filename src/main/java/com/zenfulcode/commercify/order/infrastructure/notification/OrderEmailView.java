@@ -0,0 +1,71 @@
+package com.zenfulcode.commercify.order.infrastructure.notification;
+
+import com.zenfulcode.commercify.order.domain.model.Order;
+import com.zenfulcode.commercify.order.domain.model.OrderLine;
+import com.zenfulcode.commercify.order.domain.model.OrderShippingInfo;
+import com.zenfulcode.commercify.order.domain.valueobject.Address;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Everything the order email templates read, taken from the order once. Immutable, so a
+ * single view can be rendered into any number of templates and recipients.
+ */
+public record OrderEmailView(
+        String id,
+        String orderNumber,
+        String customerName,
+        String customerPhone,
+        String customerEmail,
+        String status,
+        Instant createdAt,
+        String currency,
+        double totalAmount,
+        List<Item> items,
+        Address shippingAddress,
+        Address billingAddress
+) {
+    public record Item(
+            String name,
+            String variant,
+            int quantity,
+            String sku,
+            double unitPrice,
+            double total
+    ) {
+        static Item from(OrderLine line) {
+            return new Item(
+                    line.getProduct().getName(),
+                    line.getProductVariant() != null ? line.getProductVariant().getSku() : "",
+                    line.getQuantity(),
+                    line.getProductVariant() != null
+                            ? line.getProductVariant().getSku()
+                            : line.getProduct().getId().toString(),
+                    line.getUnitPrice().getAmount().doubleValue(),
+                    line.getTotal().getAmount().doubleValue()
+            );
+        }
+    }
+
+    public static OrderEmailView from(Order order) {
+        OrderShippingInfo shippingInfo = order.getOrderShippingInfo();
+        Address shippingAddress = shippingInfo.toShippingAddress();
+        Address billingAddress = shippingInfo.hasBillingAddress() ? shippingInfo.toBillingAddress() : shippingAddress;
+
+        return new OrderEmailView(
+                order.getId().toString(),
+                order.getId().toString(),
+                shippingInfo.getCustomerName(),
+                shippingInfo.getCustomerPhone(),
+                shippingInfo.getCustomerEmail(),
+                order.getStatus().toString(),
+                order.getCreatedAt(),
+                order.getCurrency(),
+                order.getTotalAmount().getAmount().doubleValue(),
+                order.getOrderLines().stream().map(Item::from).toList(),
+                shippingAddress,
+                billingAddress
+        );
+    }
+}
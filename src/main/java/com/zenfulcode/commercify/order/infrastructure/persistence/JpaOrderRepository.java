@@ -3,10 +3,13 @@ package com.zenfulcode.commercify.order.infrastructure.persistence;
 import com.zenfulcode.commercify.order.domain.model.Order;
 import com.zenfulcode.commercify.order.domain.repository.OrderRepository;
 import com.zenfulcode.commercify.order.domain.valueobject.OrderId;
+import com.zenfulcode.commercify.order.domain.valueobject.OrderSummary;
+import com.zenfulcode.commercify.shared.domain.valueobject.PageCursor;
 import com.zenfulcode.commercify.user.domain.valueobject.UserId;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
@@ -29,13 +32,23 @@ public class JpaOrderRepository implements OrderRepository {
     }
 
     @Override
-    public Page<Order> findByUserId(UserId userId, PageRequest pageRequest) {
-        return repository.findByUserId(userId, pageRequest);
+    public Optional<Order> findWithLinesById(OrderId id) {
+        return repository.findWithLinesById(id);
     }
 
     @Override
-    public Page<Order> findAll(PageRequest pageRequest) {
-        return repository.findAll(pageRequest);
+    public Page<OrderSummary> findSummariesByUserId(UserId userId, PageRequest pageRequest) {
+        return repository.findSummariesByUserId(userId, pageRequest);
+    }
+
+    @Override
+    public Page<OrderSummary> findSummaries(PageRequest pageRequest) {
+        return repository.findSummaries(pageRequest);
+    }
+
+    @Override
+    public Slice<OrderSummary> findSummariesAfter(PageCursor after, int size) {
+        return repository.findSummariesAfter(after.createdAt(), after.id(), PageRequest.ofSize(size));
     }
 
     @Override
@@ -45,7 +58,7 @@ public class JpaOrderRepository implements OrderRepository {
 
     @Override
     public boolean existsByUserId(UserId userId) {
-        return repository.findByUserId(userId, PageRequest.of(0, 1)).hasContent();
+        return repository.existsByUserId(userId);
     }
 
     @Override
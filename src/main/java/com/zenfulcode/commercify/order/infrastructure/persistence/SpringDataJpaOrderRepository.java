@@ -2,9 +2,11 @@ package com.zenfulcode.commercify.order.infrastructure.persistence;
 
 import com.zenfulcode.commercify.order.domain.model.Order;
 import com.zenfulcode.commercify.order.domain.valueobject.OrderId;
+import com.zenfulcode.commercify.order.domain.valueobject.OrderSummary;
 import com.zenfulcode.commercify.user.domain.valueobject.UserId;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,10 +18,64 @@ import java.util.Optional;
 
 @Repository
 interface SpringDataJpaOrderRepository extends JpaRepository<Order, OrderId> {
-    Page<Order> findByUserId(UserId userId, Pageable pageable);
+    // Summaries are projected in one query per page; the line count is a correlated subquery
+    // so neither the user, the shipping info nor the order lines are loaded
+    @Query(value = """
+                SELECT new com.zenfulcode.commercify.order.domain.valueobject.OrderSummary(
+                    o.id.id, o.user.id.id, s.customerFirstName, s.customerLastName, o.status,
+                    (SELECT COUNT(l) FROM OrderLine l WHERE l.order = o),
+                    o.totalAmount.amount, o.currency, o.createdAt)
+                FROM Order o
+                LEFT JOIN o.orderShippingInfo s
+            """,
+            countQuery = "SELECT COUNT(o) FROM Order o")
+    Page<OrderSummary> findSummaries(Pageable pageable);
+
+    @Query(value = """
+                SELECT new com.zenfulcode.commercify.order.domain.valueobject.OrderSummary(
+                    o.id.id, o.user.id.id, s.customerFirstName, s.customerLastName, o.status,
+                    (SELECT COUNT(l) FROM OrderLine l WHERE l.order = o),
+                    o.totalAmount.amount, o.currency, o.createdAt)
+                FROM Order o
+                LEFT JOIN o.orderShippingInfo s
+                WHERE o.user.id = :userId
+            """,
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.user.id = :userId")
+    Page<OrderSummary> findSummariesByUserId(@Param("userId") UserId userId, Pageable pageable);
+
+    // Keyset page, newest first; served by idx_orders_created_at_id
+    @Query("""
+                SELECT new com.zenfulcode.commercify.order.domain.valueobject.OrderSummary(
+                    o.id.id, o.user.id.id, s.customerFirstName, s.customerLastName, o.status,
+                    (SELECT COUNT(l) FROM OrderLine l WHERE l.order = o),
+                    o.totalAmount.amount, o.currency, o.createdAt)
+                FROM Order o
+                LEFT JOIN o.orderShippingInfo s
+                WHERE o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id.id < :id)
+                ORDER BY o.createdAt DESC, o.id.id DESC
+            """)
+    Slice<OrderSummary> findSummariesAfter(
+            @Param("createdAt") Instant createdAt,
+            @Param("id") String id,
+            Pageable pageable
+    );
+
+    // Everything an order email renders, in one query instead of a lazy load per line
+    @Query("""
+                SELECT DISTINCT o
+                FROM Order o
+                LEFT JOIN FETCH o.orderShippingInfo
+                LEFT JOIN FETCH o.orderLines l
+                LEFT JOIN FETCH l.product
+                LEFT JOIN FETCH l.productVariant
+                WHERE o.id = :id
+            """)
+    Optional<Order> findWithLinesById(@Param("id") OrderId id);
 
     boolean existsByIdAndUserId(OrderId id, UserId userId);
 
+    boolean existsByUserId(UserId userId);
+
     @Query("""
                 SELECT SUM(o.subtotal.amount)
                 FROM Order o
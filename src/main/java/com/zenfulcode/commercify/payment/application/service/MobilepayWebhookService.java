@@ -9,7 +9,6 @@ import com.zenfulcode.commercify.payment.domain.valueobject.webhook.WebhookPaylo
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
@@ -18,7 +17,7 @@ public class MobilepayWebhookService {
     private final PaymentProviderFactory providerFactory;
     private final PaymentDtoMapper mapper;
 
-    @Transactional
+    // No transaction: the secret is cached, so verification rarely touches the database
     public WebhookPayload authenticate(PaymentProvider provider, WebhookRequest request) {
         MobilepayProviderService paymentProvider = (MobilepayProviderService) providerFactory.getProvider(provider);
 
@@ -26,21 +25,19 @@ public class MobilepayWebhookService {
         String authorization = request.headers().get("authorization");
         String date = request.headers().get("x-ms-date");
 
-        paymentProvider.authenticateWebhook(date, contentSha256, authorization, request.body());
+        paymentProvider.authenticateWebhook(date, contentSha256, authorization, request.rawBody());
         return mapper.toWebhookPayload(request);
     }
 
-    @Transactional
+    // No transaction around the MobilePay calls; the client stores a new secret in its own
     public void registerWebhook(PaymentProvider provider, String callbackUrl) {
         providerFactory.getProvider(provider).registerWebhook(callbackUrl);
     }
 
-    @Transactional
     public void deleteWebhook(PaymentProvider provider, String webhookId) {
         providerFactory.getProvider(provider).deleteWebhook(webhookId);
     }
 
-    @Transactional(readOnly = true)
     public Object getWebhooks(PaymentProvider provider) {
         return providerFactory.getProvider(provider).getWebhooks();
     }
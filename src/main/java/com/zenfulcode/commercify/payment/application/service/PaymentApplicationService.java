@@ -12,29 +12,45 @@ import com.zenfulcode.commercify.payment.domain.model.PaymentProvider;
 import com.zenfulcode.commercify.payment.domain.service.PaymentDomainService;
 import com.zenfulcode.commercify.payment.domain.service.PaymentProviderFactory;
 import com.zenfulcode.commercify.payment.domain.service.PaymentProviderService;
+import com.zenfulcode.commercify.payment.domain.valueobject.PaymentId;
 import com.zenfulcode.commercify.payment.domain.valueobject.PaymentProviderResponse;
 import com.zenfulcode.commercify.payment.domain.valueobject.PaymentStatus;
 import com.zenfulcode.commercify.payment.domain.valueobject.TransactionId;
 import com.zenfulcode.commercify.payment.domain.valueobject.webhook.WebhookPayload;
+import com.zenfulcode.commercify.payment.infrastructure.config.PendingPaymentProperties;
 import com.zenfulcode.commercify.payment.infrastructure.webhook.WebhookHandler;
+import com.zenfulcode.commercify.shared.domain.event.DomainEventPublisher;
 import com.zenfulcode.commercify.shared.domain.model.Money;
-import com.zenfulcode.commercify.shared.domain.service.DefaultDomainEventPublisher;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PaymentApplicationService {
     private final PaymentDomainService paymentDomainService;
     private final PaymentProviderFactory providerFactory;
-    private final DefaultDomainEventPublisher eventPublisher;
+    private final DomainEventPublisher eventPublisher;
     private final WebhookHandler webhookHandler;
     private final OrderApplicationService orderApplicationService;
-
-    @Transactional
+    private final TransactionTemplate transactionTemplate;
+    private final PendingPaymentProperties pendingPaymentProperties;
+
+    /**
+     * Initiates a payment without holding a database connection while the provider is
+     * called: the payment is committed as PENDING first, the provider is called outside
+     * any transaction, and its reference is recorded in a second short transaction.
+     * Payments left pending in between are settled by the PendingPaymentReconciler, or
+     * abandoned when the order's payment is initiated again.
+     */
     public InitializedPayment initiatePayment(InitiatePaymentCommand command) {
         // Get the appropriate provider service
         PaymentProviderService providerService = providerFactory.getProvider(command.provider());
@@ -42,25 +58,39 @@ public class PaymentApplicationService {
         // Validate provider-specific request
         providerService.validateRequest(command.providerRequest());
 
-        // Create domain payment entity
-        Payment payment = paymentDomainService.createPayment(
-                command.order(),
-                command.paymentMethod(),
-                command.provider()
-        );
-
-        // Initiate payment with provider
+        // Create and commit the pending payment, replacing earlier attempts whose provider
+        // call failed. Attempts younger than the reconciler's grace period may still be in
+        // flight, e.g. after a double click, and are left alone
+        Instant supersedeBefore = Instant.now().minus(pendingPaymentProperties.getGracePeriod());
+        Payment payment = transactionTemplate.execute(status -> {
+            for (Payment superseded : paymentDomainService.abandonAwaitingPayments(command.order().getId(), supersedeBefore)) {
+                eventPublisher.publish(superseded.getDomainEvents());
+                superseded.clearDomainEvents();
+            }
+
+            Payment created = paymentDomainService.createPayment(
+                    command.order(),
+                    command.paymentMethod(),
+                    command.provider()
+            );
+            eventPublisher.publish(created.getDomainEvents());
+            created.clearDomainEvents();
+            return created;
+        });
+
+        // Initiate payment with provider. On failure the payment stays pending, since the
+        // request may still have reached the provider; the reconciler finds out later
         PaymentProviderResponse providerResponse = providerService.initiatePayment(
                 payment,
                 command.order().getId(),
                 command.providerRequest()
         );
 
-        // Update payment with provider reference
-        paymentDomainService.updateProviderReference(payment, providerResponse.providerReference());
-
-        // Publish events
-        eventPublisher.publish(payment.getDomainEvents());
+        // Update payment with provider reference; fails if the payment was closed meanwhile
+        transactionTemplate.executeWithoutResult(status -> paymentDomainService.updateProviderReference(
+                paymentDomainService.getPaymentById(payment.getId()),
+                providerResponse.providerReference()
+        ));
 
         // Return response
         return new InitializedPayment(
@@ -70,6 +100,50 @@ public class PaymentApplicationService {
         );
     }
 
+    public List<PaymentId> getStalePendingPayments(Instant createdBefore, int limit) {
+        return paymentDomainService.getStalePendingPayments(createdBefore, limit);
+    }
+
+    /**
+     * Settles a payment that was left PENDING without a provider reference: the reference
+     * is recorded if the provider did create the payment, otherwise the payment is
+     * abandoned and the order stays open for a new attempt.
+     */
+    public void reconcilePendingPayment(PaymentId paymentId) {
+        Payment payment = paymentDomainService.getPaymentById(paymentId);
+        if (!isAwaitingProviderReference(payment)) {
+            return;
+        }
+
+        // Asked outside the transaction, like the initiation itself
+        Optional<String> providerReference = providerFactory.getProvider(payment.getProvider())
+                .findProviderReference(payment);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Payment pending = paymentDomainService.getPaymentById(paymentId);
+            if (!isAwaitingProviderReference(pending)) {
+                return;
+            }
+
+            // The order may have been paid through a newer payment holding the same reference
+            if (providerReference.isPresent() && !paymentDomainService.hasPaymentWithProviderReference(providerReference.get())) {
+                paymentDomainService.updateProviderReference(pending, providerReference.get());
+                log.info("Recovered provider reference {} for pending payment {}", providerReference.get(), paymentId);
+                return;
+            }
+
+            paymentDomainService.abandonPayment(pending, providerReference.isPresent()
+                    ? "Superseded by a newer payment"
+                    : "Payment was never created at the provider");
+            eventPublisher.publish(pending.getDomainEvents());
+            log.info("Abandoned pending payment {} for order {}", paymentId, pending.getOrder().getId());
+        });
+    }
+
+    private static boolean isAwaitingProviderReference(Payment payment) {
+        return payment.getStatus() == PaymentStatus.PENDING && payment.getProviderReference() == null;
+    }
+
     @Transactional
     public void handlePaymentCallback(PaymentProvider provider, WebhookPayload payload) {
         Payment payment = paymentDomainService.getPaymentByProviderReference(payload.getPaymentReference());
@@ -0,0 +1,93 @@
+package com.zenfulcode.commercify.payment.application.service;
+
+import com.zenfulcode.commercify.api.payment.mapper.PaymentDtoMapper;
+import com.zenfulcode.commercify.payment.domain.exception.WebhookProcessingException;
+import com.zenfulcode.commercify.payment.domain.model.PaymentProvider;
+import com.zenfulcode.commercify.payment.domain.valueobject.WebhookRequest;
+import com.zenfulcode.commercify.payment.domain.valueobject.webhook.WebhookPayload;
+import com.zenfulcode.commercify.payment.infrastructure.config.PaymentWebhookProperties;
+import com.zenfulcode.commercify.payment.infrastructure.persistence.JdbcWebhookInboxRepository;
+import com.zenfulcode.commercify.payment.infrastructure.webhook.InboxWebhook;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Entry point for provider callbacks. The signature is always verified on the request
+ * thread; depending on the ingestion mode the callback is then either processed right
+ * away or stored in the inbox and processed by the inbox workers.
+ */
+@Slf4j
+@Service
+public class PaymentWebhookIngestionService {
+    private final MobilepayWebhookService webhookService;
+    private final PaymentApplicationService paymentService;
+    private final JdbcWebhookInboxRepository inboxRepository;
+    private final PaymentDtoMapper mapper;
+    private final PaymentWebhookProperties properties;
+
+    private final Counter acceptedCounter;
+    private final Counter duplicateCounter;
+
+    public PaymentWebhookIngestionService(
+            MobilepayWebhookService webhookService,
+            PaymentApplicationService paymentService,
+            JdbcWebhookInboxRepository inboxRepository,
+            PaymentDtoMapper mapper,
+            PaymentWebhookProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.webhookService = webhookService;
+        this.paymentService = paymentService;
+        this.inboxRepository = inboxRepository;
+        this.mapper = mapper;
+        this.properties = properties;
+
+        this.acceptedCounter = meterRegistry.counter("commercify.payments.webhooks.received", "result", "accepted");
+        this.duplicateCounter = meterRegistry.counter("commercify.payments.webhooks.received", "result", "duplicate");
+    }
+
+    /**
+     * @return true when the callback was queued in the inbox instead of processed
+     */
+    public boolean ingest(PaymentProvider provider, WebhookRequest request) {
+        WebhookPayload payload = webhookService.authenticate(provider, request);
+
+        if (properties.getIngestionMode() == PaymentWebhookProperties.IngestionMode.SYNC) {
+            paymentService.handlePaymentCallback(provider, payload);
+            return false;
+        }
+
+        if (!payload.isValid()) {
+            throw new WebhookProcessingException("Invalid webhook payload");
+        }
+
+        // Without an event id, a redelivery is recognised by its identical body
+        String eventId = payload.getEventId() != null
+                ? payload.getEventId()
+                : request.headers().get("x-ms-content-sha256");
+
+        if (inboxRepository.insert(provider, eventId, payload.getPaymentReference(), payload.getEventType(), request.body())) {
+            acceptedCounter.increment();
+        } else {
+            log.info("Ignoring redelivered {} webhook: {}", provider, eventId);
+            duplicateCounter.increment();
+        }
+        return true;
+    }
+
+    /**
+     * Applies a stored webhook and marks it processed in the same transaction.
+     */
+    @Transactional
+    public void processInboxWebhook(InboxWebhook webhook) {
+        WebhookPayload payload = mapper.toWebhookPayload(WebhookRequest.builder()
+                .body(webhook.payload())
+                .build());
+
+        paymentService.handlePaymentCallback(webhook.provider(), payload);
+        inboxRepository.markProcessed(webhook.id());
+    }
+}
@@ -134,6 +134,17 @@ public class Payment extends AggregateRoot {
         ));
     }
 
+    /**
+     * Closes a payment the provider never created. Unlike a failed payment this says
+     * nothing about the order, which stays open for a new payment attempt.
+     */
+    public void abandon(String details) {
+        this.errorMessage = details;
+        recordPaymentAttempt(false, details);
+
+        updateStatus(PaymentStatus.FAILED);
+    }
+
     public void processRefund(Money refundAmount, RefundReason reason, String notes) {
         // For full refunds
         if (refundAmount.equals(this.amount)) {
@@ -6,6 +6,8 @@ import com.zenfulcode.commercify.payment.domain.valueobject.PaymentId;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface PaymentRepository {
@@ -17,7 +19,14 @@ public interface PaymentRepository {
 
     Optional<Payment> findByTransactionId(String transactionId);
 
+    /**
+     * The order's live payment: its newest one that has not failed
+     */
     Optional<Payment> findByOrderId(OrderId orderId);
 
+    List<Payment> findPendingWithoutProviderReferenceByOrderId(OrderId orderId, Instant createdBefore);
+
+    List<PaymentId> findPendingWithoutProviderReference(Instant createdBefore, int limit);
+
     Page<Payment> findAll(PageRequest pageRequest);
 }
@@ -4,6 +4,7 @@ import com.zenfulcode.commercify.order.domain.model.Order;
 import com.zenfulcode.commercify.order.domain.valueobject.OrderId;
 import com.zenfulcode.commercify.payment.domain.event.PaymentCreatedEvent;
 import com.zenfulcode.commercify.payment.domain.exception.PaymentNotFoundException;
+import com.zenfulcode.commercify.payment.domain.exception.PaymentProcessingException;
 import com.zenfulcode.commercify.payment.domain.model.FailureReason;
 import com.zenfulcode.commercify.payment.domain.model.Payment;
 import com.zenfulcode.commercify.payment.domain.model.PaymentMethod;
@@ -17,6 +18,9 @@ import com.zenfulcode.commercify.shared.domain.model.Money;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class PaymentDomainService {
@@ -24,7 +28,7 @@ public class PaymentDomainService {
     private final PaymentRepository paymentRepository;
 
     /**
-     * Creates a new payment for an order
+     * Creates and stores a new pending payment for an order
      */
     public Payment createPayment(Order order, PaymentMethod paymentMethod, PaymentProvider provider) {
         validationService.validateCreatePayment(order, paymentMethod, provider);
@@ -47,6 +51,8 @@ public class PaymentDomainService {
                 payment.getProvider()
         ));
 
+        paymentRepository.save(payment);
+
         return payment;
     }
 
@@ -110,7 +116,44 @@ public class PaymentDomainService {
         paymentRepository.save(payment);
     }
 
+    /**
+     * Closes a pending payment the provider never created, leaving the order open
+     */
+    public void abandonPayment(Payment payment, String details) {
+        validationService.validateStatusTransition(payment, PaymentStatus.FAILED);
+
+        payment.abandon(details);
+
+        paymentRepository.save(payment);
+    }
+
+    /**
+     * Abandons the order's attempts created before the cutoff that never got a provider
+     * reference. Younger attempts may still have their provider call in flight and are
+     * left for the initiation that created them.
+     */
+    public List<Payment> abandonAwaitingPayments(OrderId orderId, Instant createdBefore) {
+        List<Payment> awaiting = paymentRepository.findPendingWithoutProviderReferenceByOrderId(orderId, createdBefore);
+        for (Payment payment : awaiting) {
+            abandonPayment(payment, "Superseded by a new payment attempt");
+        }
+        return awaiting;
+    }
+
+    /**
+     * Records the reference of a payment the provider just created. Fails if the payment
+     * was closed in the meantime, e.g. abandoned, since webhooks for the reference would
+     * then resolve to a closed payment.
+     */
     public void updateProviderReference(Payment payment, String providerReference) {
+        if (payment.getStatus() != PaymentStatus.PENDING || payment.getProviderReference() != null) {
+            throw new PaymentProcessingException(
+                    "Payment " + payment.getId() + " is no longer awaiting a provider reference",
+                    providerReference,
+                    null
+            );
+        }
+
         payment.updateProviderReference(providerReference);
         paymentRepository.save(payment);
     }
@@ -128,6 +171,17 @@ public class PaymentDomainService {
                 .orElseThrow(() -> new PaymentNotFoundException(providerReference));
     }
 
+    /**
+     * Pending payments created before the cutoff that never got a provider reference
+     */
+    public List<PaymentId> getStalePendingPayments(Instant createdBefore, int limit) {
+        return paymentRepository.findPendingWithoutProviderReference(createdBefore, limit);
+    }
+
+    public boolean hasPaymentWithProviderReference(String providerReference) {
+        return paymentRepository.findByProviderReference(providerReference).isPresent();
+    }
+
     public Payment getPaymentByOrderId(OrderId orderId) {
         return paymentRepository.findByOrderId(orderId)
                 .orElseThrow(() -> new PaymentNotFoundException(orderId));
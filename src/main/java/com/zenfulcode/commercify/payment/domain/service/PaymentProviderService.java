@@ -8,6 +8,7 @@ import com.zenfulcode.commercify.payment.domain.valueobject.PaymentProviderReque
 import com.zenfulcode.commercify.payment.domain.valueobject.PaymentProviderResponse;
 import com.zenfulcode.commercify.payment.domain.valueobject.webhook.WebhookPayload;
 
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -19,6 +20,12 @@ public interface PaymentProviderService {
      */
     PaymentProviderResponse initiatePayment(Payment payment, OrderId orderId, PaymentProviderRequest request);
 
+    /**
+     * Look up the provider reference of a payment whose initiation outcome was never
+     * recorded. Empty if the provider has no such payment.
+     */
+    Optional<String> findProviderReference(Payment payment);
+
     /**
      * Handle provider webhook callbacks
      */
@@ -37,6 +37,7 @@ public class MobilepayProviderService implements PaymentProviderService {
         // Create payment through MobilePay client
         MobilepayPaymentResponse response = mobilePayClient.createPayment(
                 new MobilepayCreatePaymentRequest(
+                        payment.getId().toString(),
                         payment.getAmount(),
                         mobilePayRequest.getPaymentMethod(),
                         mobilePayRequest.phoneNumber(),
@@ -53,6 +54,12 @@ public class MobilepayProviderService implements PaymentProviderService {
         );
     }
 
+    @Override
+    public Optional<String> findProviderReference(Payment payment) {
+        String reference = MobilepayClient.paymentReference(payment.getOrder().getId().toString());
+        return mobilePayClient.paymentExists(reference) ? Optional.of(reference) : Optional.empty();
+    }
+
     @Override
     @Transactional
     public void handleCallback(Payment payment, WebhookPayload payload) {
@@ -129,23 +136,19 @@ public class MobilepayProviderService implements PaymentProviderService {
         return getSupportedPaymentMethods().contains(method);
     }
 
-    @Transactional
     public void registerWebhook(String callbackUrl) {
         mobilePayClient.registerWebhook(callbackUrl);
     }
 
-    @Transactional
     public void deleteWebhook(String webhookId) {
         mobilePayClient.deleteWebhook(webhookId);
     }
 
-    @Transactional
     public Object getWebhooks() {
         return mobilePayClient.getWebhooks();
     }
 
-    @Transactional
-    public void authenticateWebhook(String date, String contentSha256, String authorization, String payload) {
+    public void authenticateWebhook(String date, String contentSha256, String authorization, byte[] payload) {
         log.info("Authenticating MobilePay webhook");
         mobilePayClient.validateWebhook(contentSha256, authorization, date, payload);
     }
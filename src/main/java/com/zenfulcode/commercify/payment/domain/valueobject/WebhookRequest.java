@@ -7,6 +7,8 @@ import java.util.Map;
 @Builder
 public record WebhookRequest(
         String body,
+        // The body exactly as received, which is what the signature covers
+        byte[] rawBody,
         Map<String, String> headers
 ) {
 }
\ No newline at end of file
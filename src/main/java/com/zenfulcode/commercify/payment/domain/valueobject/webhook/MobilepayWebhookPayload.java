@@ -18,6 +18,11 @@ public record MobilepayWebhookPayload(
         return name;
     }
 
+    @Override
+    public String getEventId() {
+        return pspReference;
+    }
+
     @Override
     public String getPaymentReference() {
         return reference;
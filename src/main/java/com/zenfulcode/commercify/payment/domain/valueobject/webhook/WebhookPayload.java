@@ -8,6 +8,11 @@ import java.time.Instant;
 public interface WebhookPayload {
     String getEventType();
 
+    /**
+     * The provider's id of this event, the same on every redelivery; null if it has none
+     */
+    String getEventId();
+
     String getPaymentReference();
 
     Instant getTimestamp();
@@ -0,0 +1,43 @@
+package com.zenfulcode.commercify.payment.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "commercify.payments.webhooks")
+public class PaymentWebhookProperties {
+    /**
+     * SYNC processes a verified callback on the request thread before responding.
+     * INBOX stores it in payment_webhook_inbox, responds, and leaves it to the inbox workers.
+     */
+    private IngestionMode ingestionMode = IngestionMode.SYNC;
+
+    private final Inbox inbox = new Inbox();
+
+    public enum IngestionMode {
+        SYNC,
+        INBOX
+    }
+
+    @Setter
+    @Getter
+    public static class Inbox {
+        private int workerThreads = 4;
+        private int batchSize = 50;
+        private long pollIntervalMs = 500;
+        // Claimed webhooks whose worker died become due again after this
+        private Duration lease = Duration.ofMinutes(1);
+
+        private int maxAttempts = 10;
+        private Duration initialBackoff = Duration.ofSeconds(5);
+        private Duration maxBackoff = Duration.ofMinutes(10);
+
+        private Duration processedRetention = Duration.ofDays(30);
+    }
+}
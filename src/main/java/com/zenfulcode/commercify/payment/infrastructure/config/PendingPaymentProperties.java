@@ -0,0 +1,24 @@
+package com.zenfulcode.commercify.payment.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "commercify.payments.pending")
+public class PendingPaymentProperties {
+    /**
+     * How long a payment may stay PENDING without a provider reference before the
+     * reconciler asks the provider about it. Must be well above the provider read timeout,
+     * so initiations still in flight are left alone.
+     */
+    private Duration gracePeriod = Duration.ofMinutes(10);
+
+    private long reconcileIntervalMs = 60000;
+    private int batchSize = 50;
+}
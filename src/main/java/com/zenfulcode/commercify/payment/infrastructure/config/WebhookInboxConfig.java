@@ -0,0 +1,30 @@
+package com.zenfulcode.commercify.payment.infrastructure.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebhookInboxConfig {
+    private final PaymentWebhookProperties properties;
+
+    /**
+     * Workers that process inbox webhooks. There is no queue: webhooks are only claimed
+     * when a worker is free to process them.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor webhookInboxExecutor() {
+        PaymentWebhookProperties.Inbox inbox = properties.getInbox();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(inbox.getWorkerThreads());
+        executor.setMaxPoolSize(inbox.getWorkerThreads());
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("webhook-inbox-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,16 @@
+package com.zenfulcode.commercify.payment.infrastructure.gateway;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * An access token and its expiry, published as one immutable value.
+ */
+public record MobilepayAccessToken(String value, Instant expiresAt) {
+    /**
+     * @return true if the token is still valid {@code margin} from now
+     */
+    public boolean isValidFor(Duration margin) {
+        return Instant.now().plus(margin).isBefore(expiresAt);
+    }
+}
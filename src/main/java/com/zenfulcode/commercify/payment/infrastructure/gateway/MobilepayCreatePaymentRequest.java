@@ -4,6 +4,8 @@ import com.zenfulcode.commercify.payment.domain.model.PaymentMethod;
 import com.zenfulcode.commercify.shared.domain.model.Money;
 
 public record MobilepayCreatePaymentRequest(
+        // Sent as the idempotency key, so a repeated request cannot create a second payment
+        String paymentId,
         Money amount,
         PaymentMethod paymentMethod,
         String phoneNumber,
@@ -8,58 +8,111 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Holds the MobilePay access token. A scheduled check renews it well before it expires,
+ * so callers normally just read the current token. Only when there is no valid token do
+ * callers wait, and then all of them share a single token request.
+ */
 @Service
 @Slf4j
 public class MobilepayTokenService {
+    // A token this close to expiry is not handed out any more
+    private static final Duration EXPIRY_MARGIN = Duration.ofSeconds(30);
+    private static final Duration FALLBACK_LIFETIME = Duration.ofHours(1);
+
     private final RestTemplate restTemplate;
-    private final ReentrantLock tokenLock = new ReentrantLock();
     private final MobilepayConfig config;
 
-    private String accessToken;
-    private Instant tokenExpiration;
+    private final AtomicReference<MobilepayAccessToken> token = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<MobilepayAccessToken>> inFlight = new AtomicReference<>();
 
     public MobilepayTokenService(RestTemplate restTemplate, MobilepayConfig config) {
         this.restTemplate = restTemplate;
         this.config = config;
     }
-    
+
     public String getAccessToken() {
-        if (shouldRefreshToken()) {
-            refreshAccessToken();
+        MobilepayAccessToken current = token.get();
+        if (current != null && current.isValidFor(EXPIRY_MARGIN)) {
+            return current.value();
         }
 
-        return accessToken;
+        return refresh().value();
     }
 
-    private boolean shouldRefreshToken() {
-        return accessToken == null || tokenExpiration == null ||
-                Instant.now().plusSeconds(60).isAfter(tokenExpiration);
+    /**
+     * Drops the given token if it is still the current one, e.g. after MobilePay answered
+     * 401 to it. A token renewed in the meantime is kept.
+     */
+    public void invalidate(String rejectedToken) {
+        MobilepayAccessToken current = token.get();
+        if (current != null && current.value().equals(rejectedToken)) {
+            token.compareAndSet(current, null);
+        }
     }
 
-    private void refreshAccessToken() {
-        tokenLock.lock();
+    @Scheduled(fixedDelayString = "${integration.payments.mobilepay.token-refresh-check-interval-ms:30000}")
+    public void refreshAhead() {
+        MobilepayAccessToken current = token.get();
+        if (current != null && current.isValidFor(config.getTokenRefreshAhead())) {
+            return;
+        }
+
         try {
-            // Double-check after acquiring lock
-            if (shouldRefreshToken()) {
-                MobilepayTokenResponse tokenResponse = requestNewAccessToken();
-                accessToken = tokenResponse.accessToken();
-
-                // Parse expires_on timestamp
-                try {
-                    long expiresOn = Long.parseLong(tokenResponse.expiresOn());
-                    tokenExpiration = Instant.ofEpochSecond(expiresOn);
-                    log.info("Access token refreshed, expires at: {}", tokenExpiration);
-                } catch (NumberFormatException e) {
-                    log.error("Failed to parse token expiration timestamp", e);
-                    // Fallback expiration
-                    tokenExpiration = Instant.now().plusSeconds(3600);
-                }
-            }
+            refresh();
+        } catch (PaymentProcessingException e) {
+            // Callers still have the current token until it expires; retried on the next check
+            log.warn("Background MobilePay token refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Requests a new token, or waits for the request another thread already started.
+     */
+    private MobilepayAccessToken refresh() {
+        CompletableFuture<MobilepayAccessToken> request = new CompletableFuture<>();
+        CompletableFuture<MobilepayAccessToken> running = inFlight.compareAndExchange(null, request);
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            MobilepayAccessToken fresh = toAccessToken(requestNewAccessToken());
+            token.set(fresh);
+            request.complete(fresh);
+            log.info("Access token refreshed, expires at: {}", fresh.expiresAt());
+            return fresh;
+        } catch (RuntimeException e) {
+            request.completeExceptionally(e);
+            throw e;
         } finally {
-            tokenLock.unlock();
+            inFlight.compareAndSet(request, null);
+        }
+    }
+
+    private MobilepayAccessToken await(CompletableFuture<MobilepayAccessToken> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private MobilepayAccessToken toAccessToken(MobilepayTokenResponse response) {
+        try {
+            return new MobilepayAccessToken(response.accessToken(), Instant.ofEpochSecond(Long.parseLong(response.expiresOn())));
+        } catch (NumberFormatException e) {
+            log.error("Failed to parse token expiration timestamp", e);
+            return new MobilepayAccessToken(response.accessToken(), Instant.now().plus(FALLBACK_LIFETIME));
         }
     }
 
@@ -68,7 +121,7 @@ public class MobilepayTokenService {
             HttpHeaders headers = createTokenRequestHeaders();
 
             ResponseEntity<MobilepayTokenResponse> response = restTemplate.exchange(
-                    config.getApiUrl() + "/accesstoken/get",
+                    "/accesstoken/get",
                     HttpMethod.POST,
                     new HttpEntity<>(headers),
                     MobilepayTokenResponse.class
@@ -98,11 +151,4 @@ public class MobilepayTokenService {
         headers.set("Vipps-System-Plugin-Version", "1.0");
         return headers;
     }
-
-    @Scheduled(fixedRate = 3600000) // Every hour
-    public void scheduleTokenRefresh() {
-        if (shouldRefreshToken()) {
-            refreshAccessToken();
-        }
-    }
-}
\ No newline at end of file
+}
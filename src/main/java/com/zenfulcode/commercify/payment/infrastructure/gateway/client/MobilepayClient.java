@@ -11,43 +11,43 @@ import com.zenfulcode.commercify.payment.infrastructure.gateway.MobilepayCreateP
 import com.zenfulcode.commercify.payment.infrastructure.gateway.MobilepayPaymentResponse;
 import com.zenfulcode.commercify.payment.infrastructure.gateway.MobilepayTokenService;
 import com.zenfulcode.commercify.payment.infrastructure.gateway.config.MobilepayConfig;
+import com.zenfulcode.commercify.shared.domain.exception.ServiceUnavailableException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-import java.net.URI;
-import java.net.URISyntaxException;
-import java.nio.charset.StandardCharsets;
-import java.security.InvalidKeyException;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.*;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class MobilepayClient {
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final WebhookConfigRepository webhookRepository;
+    private final TransactionTemplate transactionTemplate;
     private final RestTemplate restTemplate;
     private final MobilepayTokenService tokenService;
+    private final MobilepayWebhookVerifier webhookVerifier;
+    private final ProviderCallGuard callGuard;
 
     private final MobilepayConfig config;
 
-    @Transactional
+    // Not transactional: a database connection must never wait on MobilePay
     public MobilepayPaymentResponse createPayment(MobilepayCreatePaymentRequest request) {
         try {
+            // Keyed by our payment id, so retries and repeated attempts get the same payment back
             HttpEntity<Map<String, Object>> entity = new HttpEntity<>(
                     createPaymentRequest(request),
-                    createHeaders()
+                    createHeaders(request.paymentId())
             );
 
-            ResponseEntity<MobilepayPaymentResponse> response = restTemplate.exchange(
-                    config.getApiUrl() + "/epayment/v1/payments",
+            ResponseEntity<MobilepayPaymentResponse> response = exchange(
+                    "/epayment/v1/payments",
                     HttpMethod.POST,
                     entity,
                     MobilepayPaymentResponse.class
@@ -58,69 +58,92 @@ public class MobilepayClient {
             }
 
             return response.getBody();
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error creating MobilePay payment: {}", e.getMessage());
             throw new PaymentProcessingException("Failed to create MobilePay payment", e);
         }
     }
 
-    @Transactional(readOnly = true)
-    public void validateWebhook(String contentSha256, String authorization, String date, String payload) {
-        try {
-//            Verify content
-            log.info("Verifying content");
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(payload.getBytes(StandardCharsets.UTF_8));
-            String encodedHash = Base64.getEncoder().encodeToString(hash);
-
-            if (!encodedHash.equals(contentSha256)) {
-                throw new SecurityException("Hash mismatch");
-            }
-
-            log.info("Content verified");
-
-//            Verify signature
-            log.info("Verifying signature");
-            URI uri = new URI(config.getWebhookCallback());
-
-            String expectedSignedString = String.format("POST\n%s\n%s;%s;%s", uri.getPath(), date, uri.getHost(), encodedHash);
+    /**
+     * Whether MobilePay knows a payment with the given reference.
+     */
+    public boolean paymentExists(String reference) {
+        HttpEntity<Void> entity = new HttpEntity<>(createHeaders(null));
 
-            Mac hmacSha256 = Mac.getInstance("HmacSHA256");
-
-            byte[] secretByteArray = getWebhookSecret().getBytes(StandardCharsets.UTF_8);
+        try {
+            exchange("/epayment/v1/payments/{reference}", HttpMethod.GET, entity, Object.class, reference);
+            return true;
+        } catch (HttpClientErrorException.NotFound e) {
+            return false;
+        } catch (ServiceUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error looking up MobilePay payment {}: {}", reference, e.getMessage());
+            throw new PaymentProcessingException("Failed to look up MobilePay payment", e);
+        }
+    }
 
-            SecretKeySpec secretKey = new SecretKeySpec(secretByteArray, "HmacSHA256");
-            hmacSha256.init(secretKey);
+    /**
+     * The reference MobilePay knows an order's payment by.
+     */
+    public static String paymentReference(String orderId) {
+        return "mp-" + orderId;
+    }
 
-            byte[] hmacSha256Bytes = hmacSha256.doFinal(expectedSignedString.getBytes(StandardCharsets.UTF_8));
-            String expectedSignature = Base64.getEncoder().encodeToString(hmacSha256Bytes);
-            String expectedAuthorization = String.format("HMAC-SHA256 SignedHeaders=x-ms-date;host;x-ms-content-sha256&Signature=%s", expectedSignature);
+    public void validateWebhook(String contentSha256, String authorization, String date, byte[] payload) {
+        webhookVerifier.verify(contentSha256, authorization, date, payload);
+    }
 
-            if (!authorization.equals(expectedAuthorization)) {
-                throw new SecurityException("Signature mismatch");
-            }
+    /**
+     * Sends the request through the call guard, which retries transient failures and
+     * fails fast while MobilePay is down. Every attempt carries the same headers, so
+     * requests that create something must carry an idempotency key.
+     */
+    private <T> ResponseEntity<T> exchange(String uri, HttpMethod method, HttpEntity<?> entity, Class<T> responseType,
+                                           Object... uriVariables) {
+        return callGuard.execute(() -> exchangeWithFreshToken(uri, method, entity, responseType, uriVariables));
+    }
 
-            log.info("Signature verified");
-        } catch (NoSuchAlgorithmException e) {
-            throw new WebhookProcessingException("SHA-256 algorithm not found");
-        } catch (InvalidKeyException | URISyntaxException e) {
-            throw new WebhookProcessingException(e.getMessage());
+    /**
+     * Sends the request, retrying once with a fresh token when MobilePay rejects the one
+     * used as expired or revoked. Every other header, the idempotency key included, is sent
+     * unchanged, so the retry is the same request.
+     */
+    private <T> ResponseEntity<T> exchangeWithFreshToken(String uri, HttpMethod method, HttpEntity<?> entity,
+                                                         Class<T> responseType, Object... uriVariables) {
+        try {
+            return restTemplate.exchange(uri, method, entity, responseType, uriVariables);
+        } catch (HttpClientErrorException.Unauthorized e) {
+            String rejected = entity.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+            tokenService.invalidate(rejected != null ? rejected.substring(BEARER_PREFIX.length()) : null);
+            log.info("MobilePay rejected the access token, retrying with a new one");
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(entity.getHeaders());
+            headers.set(HttpHeaders.AUTHORIZATION, BEARER_PREFIX + tokenService.getAccessToken());
+            return restTemplate.exchange(uri, method, new HttpEntity<>(entity.getBody(), headers), responseType, uriVariables);
         }
     }
 
-    @Transactional
-    protected HttpHeaders createHeaders() {
+    /**
+     * Headers for a MobilePay request; the idempotency key is left out when null.
+     */
+    protected HttpHeaders createHeaders(String idempotencyKey) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
-        headers.set("Authorization", "Bearer " + tokenService.getAccessToken());
+        headers.set(HttpHeaders.AUTHORIZATION, BEARER_PREFIX + tokenService.getAccessToken());
         headers.set("Merchant-Serial-Number", config.getMerchantId());
         headers.set("Ocp-Apim-Subscription-Key", config.getSubscriptionKey());
         headers.set("Vipps-System-Name", config.getSystemName());
         headers.set("Vipps-System-Version", "1.0");
         headers.set("Vipps-System-Plugin-Name", "commercify");
         headers.set("Vipps-System-Plugin-Version", "1.0");
-        headers.set("Idempotency-Key", UUID.randomUUID().toString());
+        if (idempotencyKey != null) {
+            headers.set("Idempotency-Key", idempotencyKey);
+        }
         return headers;
     }
 
@@ -147,16 +170,16 @@ public class MobilepayClient {
         paymentRequest.put("customer", customer);
 
         // Other fields
-        paymentRequest.put("reference", "mp-" + request.orderId());
+        paymentRequest.put("reference", paymentReference(request.orderId()));
         paymentRequest.put("returnUrl", request.returnUrl() + "?orderId=" + request.orderId());
         paymentRequest.put("userFlow", "WEB_REDIRECT");
 
         return paymentRequest;
     }
 
-    @Transactional
     public void registerWebhook(String callbackUrl) {
-        HttpHeaders headers = createHeaders();
+        // One key per registration, shared by its retries
+        HttpHeaders headers = createHeaders(UUID.randomUUID().toString());
 
         Map<String, Object> request = new HashMap<>();
         request.put("url", callbackUrl);
@@ -172,8 +195,8 @@ public class MobilepayClient {
         HttpEntity<Map<String, Object>> entity = new HttpEntity<>(request, headers);
 
         try {
-            ResponseEntity<MobilepayWebhookRegistrationResponse> response = restTemplate.exchange(
-                    String.format("%s/webhooks/v1/webhooks", config.getApiUrl()),
+            ResponseEntity<MobilepayWebhookRegistrationResponse> response = exchange(
+                    "/webhooks/v1/webhooks",
                     HttpMethod.POST,
                     entity,
                     MobilepayWebhookRegistrationResponse.class
@@ -187,6 +210,8 @@ public class MobilepayClient {
             saveOrUpdateWebhook(callbackUrl, response.getBody().secret());
 
             log.info("Webhook registration response: {}", response.getBody());
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error registering MobilePay webhook: {}", e.getMessage());
             throw new PaymentProcessingException("Failed to register webhook", e);
@@ -194,71 +219,71 @@ public class MobilepayClient {
     }
 
 
-    @Transactional
     public void deleteWebhook(String webhookId) {
-        HttpHeaders headers = createHeaders();
+        HttpHeaders headers = createHeaders(null);
         HttpEntity<Void> entity = new HttpEntity<>(headers);
 
         try {
-            restTemplate.exchange(
-                    String.format("%s/webhooks/v1/webhooks/%s", config.getApiUrl(), webhookId),
+            exchange(
+                    "/webhooks/v1/webhooks/{webhookId}",
                     HttpMethod.DELETE,
                     entity,
-                    Object.class);
+                    Object.class,
+                    webhookId);
 
             log.info("Webhook deleted successfully: {}", webhookId);
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error deleting MobilePay webhook: {}", e.getMessage());
             throw new WebhookProcessingException("Failed to delete MobilePay webhook");
         }
     }
 
-    @Transactional
     public Object getWebhooks() {
-        HttpHeaders headers = createHeaders();
+        HttpHeaders headers = createHeaders(null);
         HttpEntity<Void> entity = new HttpEntity<>(headers);
 
         try {
-            ResponseEntity<Object> response = restTemplate.exchange(
-                    String.format("%s/webhooks/v1/webhooks", config.getApiUrl()),
+            ResponseEntity<Object> response = exchange(
+                    "/webhooks/v1/webhooks",
                     HttpMethod.GET,
                     entity,
                     Object.class);
 
             return response.getBody();
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error getting MobilePay webhooks: {}", e.getMessage());
             throw new WebhookProcessingException("Failed to get MobilePay webhooks");
         }
     }
 
-    protected String getWebhookSecret() {
-        return webhookRepository.findByProvider(PaymentProvider.MOBILEPAY)
-                .map(WebhookConfig::getSecret)
-                .orElseThrow(() -> new PaymentProcessingException("Webhook secret not found", null));
-    }
-
-    @Transactional
+    // Runs in its own short transaction, once MobilePay has answered
     protected void saveOrUpdateWebhook(String callbackUrl, String secret) {
-        webhookRepository.findByProvider(PaymentProvider.MOBILEPAY)
-                .ifPresentOrElse(
-                        config -> {
-                            config.setCallbackUrl(callbackUrl);
-                            config.setSecret(secret);
-                            webhookRepository.save(config);
-
-                            log.info("Webhook updated successfully");
-                        },
-                        () -> {
-                            WebhookConfig newConfig = WebhookConfig.builder()
-                                    .provider(PaymentProvider.MOBILEPAY)
-                                    .callbackUrl(callbackUrl)
-                                    .secret(secret)
-                                    .build();
-                            webhookRepository.save(newConfig);
-
-                            log.info("Webhook registered successfully");
-                        }
-                );
+        transactionTemplate.executeWithoutResult(status -> {
+            webhookVerifier.invalidateSecret();
+            webhookRepository.findByProvider(PaymentProvider.MOBILEPAY)
+                    .ifPresentOrElse(
+                            config -> {
+                                config.setCallbackUrl(callbackUrl);
+                                config.setSecret(secret);
+                                webhookRepository.save(config);
+
+                                log.info("Webhook updated successfully");
+                            },
+                            () -> {
+                                WebhookConfig newConfig = WebhookConfig.builder()
+                                        .provider(PaymentProvider.MOBILEPAY)
+                                        .callbackUrl(callbackUrl)
+                                        .secret(secret)
+                                        .build();
+                                webhookRepository.save(newConfig);
+
+                                log.info("Webhook registered successfully");
+                            }
+                    );
+        });
     }
 }
\ No newline at end of file
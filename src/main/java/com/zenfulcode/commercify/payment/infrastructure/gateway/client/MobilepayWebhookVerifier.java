@@ -0,0 +1,181 @@
+package com.zenfulcode.commercify.payment.infrastructure.gateway.client;
+
+import com.zenfulcode.commercify.payment.domain.exception.PaymentProcessingException;
+import com.zenfulcode.commercify.payment.domain.exception.WebhookProcessingException;
+import com.zenfulcode.commercify.payment.domain.model.PaymentProvider;
+import com.zenfulcode.commercify.payment.domain.model.WebhookConfig;
+import com.zenfulcode.commercify.payment.domain.repository.WebhookConfigRepository;
+import com.zenfulcode.commercify.payment.infrastructure.gateway.config.MobilepayConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Verifies MobilePay webhook signatures. The webhook secret is cached and dropped when
+ * this node registers a new one; a signature that does not match triggers a reload, rate
+ * limited, in case another node rotated the secret. Digest and MAC engines are kept per
+ * thread, since neither is thread-safe and looking them up is the expensive part.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MobilepayWebhookVerifier {
+    private static final String HMAC_SHA256 = "HmacSHA256";
+    private static final Duration MIN_RELOAD_INTERVAL = Duration.ofSeconds(10);
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final ThreadLocal<KeyedMac> macs = new ThreadLocal<>();
+
+    private final WebhookConfigRepository webhookRepository;
+    private final MobilepayConfig config;
+
+    private String callbackPath;
+    private String callbackHost;
+
+    private volatile CachedKey cachedKey;
+
+    private record CachedKey(SecretKeySpec key, Instant loadedAt) {
+    }
+
+    private record KeyedMac(Mac mac, SecretKeySpec key) {
+    }
+
+    @PostConstruct
+    void parseCallback() {
+        if (config.getWebhookCallback() == null || config.getWebhookCallback().isBlank()) {
+            return;
+        }
+        URI uri = URI.create(config.getWebhookCallback());
+        this.callbackPath = uri.getPath();
+        this.callbackHost = uri.getHost();
+    }
+
+    public void verify(String contentSha256, String authorization, String date, byte[] payload) {
+        if (callbackPath == null) {
+            throw new WebhookProcessingException("Webhook callback URL is not configured");
+        }
+
+        String encodedHash = Base64.getEncoder().encodeToString(SHA256.get().digest(payload));
+        if (contentSha256 == null || !constantTimeEquals(encodedHash, contentSha256)) {
+            throw new SecurityException("Hash mismatch");
+        }
+        if (authorization == null) {
+            throw new SecurityException("Signature mismatch");
+        }
+
+        byte[] signedString = String.format("POST\n%s\n%s;%s;%s", callbackPath, date, callbackHost, encodedHash)
+                .getBytes(StandardCharsets.UTF_8);
+
+        CachedKey key = currentKey();
+        if (constantTimeEquals(expectedAuthorization(key.key(), signedString), authorization)) {
+            return;
+        }
+
+        // The secret may have been rotated from another node
+        CachedKey reloaded = reloadKey(key);
+        if (reloaded == key || !constantTimeEquals(expectedAuthorization(reloaded.key(), signedString), authorization)) {
+            throw new SecurityException("Signature mismatch");
+        }
+    }
+
+    /**
+     * Drops the cached secret once the current transaction commits, so a reload cannot
+     * pick up the old secret in between.
+     */
+    public void invalidateSecret() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cachedKey = null;
+                }
+            });
+        } else {
+            cachedKey = null;
+        }
+    }
+
+    private CachedKey currentKey() {
+        CachedKey key = cachedKey;
+        if (key == null) {
+            key = loadKey();
+            cachedKey = key;
+        }
+        return key;
+    }
+
+    private synchronized CachedKey reloadKey(CachedKey stale) {
+        CachedKey key = cachedKey;
+        if (key != null && key != stale) {
+            return key;
+        }
+        if (stale != null && Instant.now().isBefore(stale.loadedAt().plus(MIN_RELOAD_INTERVAL))) {
+            return stale;
+        }
+
+        CachedKey loaded = loadKey();
+        if (stale != null && MessageDigest.isEqual(loaded.key().getEncoded(), stale.key().getEncoded())) {
+            // Same secret; keep the old entry so the reload interval still applies
+            return stale;
+        }
+        cachedKey = loaded;
+        log.info("Reloaded MobilePay webhook secret");
+        return loaded;
+    }
+
+    private CachedKey loadKey() {
+        String secret = webhookRepository.findByProvider(PaymentProvider.MOBILEPAY)
+                .map(WebhookConfig::getSecret)
+                .orElseThrow(() -> new PaymentProcessingException("Webhook secret not found", null));
+        return new CachedKey(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_SHA256), Instant.now());
+    }
+
+    private String expectedAuthorization(SecretKeySpec key, byte[] signedString) {
+        String signature = Base64.getEncoder().encodeToString(mac(key).doFinal(signedString));
+        return "HMAC-SHA256 SignedHeaders=x-ms-date;host;x-ms-content-sha256&Signature=" + signature;
+    }
+
+    private Mac mac(SecretKeySpec key) {
+        KeyedMac keyed = macs.get();
+        if (keyed != null && keyed.key() == key) {
+            return keyed.mac();
+        }
+
+        try {
+            Mac mac = keyed != null ? keyed.mac() : Mac.getInstance(HMAC_SHA256);
+            mac.init(key);
+            macs.set(new KeyedMac(mac, key));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new WebhookProcessingException(e.getMessage());
+        }
+    }
+
+    private static boolean constantTimeEquals(String expected, String actual) {
+        return MessageDigest.isEqual(
+                expected.getBytes(StandardCharsets.UTF_8),
+                actual.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+}
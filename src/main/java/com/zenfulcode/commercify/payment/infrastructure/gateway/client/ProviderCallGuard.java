@@ -0,0 +1,122 @@
+package com.zenfulcode.commercify.payment.infrastructure.gateway.client;
+
+import com.zenfulcode.commercify.payment.infrastructure.gateway.config.PaymentResilienceProperties;
+import com.zenfulcode.commercify.shared.domain.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead, retries and circuit breaker around the calls to one payment provider.
+ * <p>
+ * Transient failures (I/O errors and timeouts, 5xx and 429) are retried with jittered
+ * exponential backoff, so callers must only pass calls that are safe to repeat, e.g. by
+ * sending the same idempotency key each time. Other 4xx responses mean the provider is up
+ * and are passed on unchanged. While the circuit is open, or when the bulkhead is full,
+ * calls fail fast with a {@link ServiceUnavailableException}.
+ */
+public class ProviderCallGuard {
+    private final String provider;
+    private final Semaphore bulkhead;
+    private final long bulkheadWaitMillis;
+    private final ProviderCircuitBreaker circuitBreaker;
+    private final RetryTemplate retryTemplate;
+
+    private final Counter successCounter;
+    private final Counter failureCounter;
+    private final Counter retryCounter;
+    private final Counter rejectedCounter;
+
+    public ProviderCallGuard(String provider, PaymentResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.provider = provider;
+        this.bulkhead = new Semaphore(properties.getMaxConcurrentCalls());
+        this.bulkheadWaitMillis = properties.getBulkheadWait().toMillis();
+        this.circuitBreaker = new ProviderCircuitBreaker(properties.getFailureThreshold(), properties.getOpenDuration());
+        this.retryTemplate = RetryTemplate.builder()
+                .maxAttempts(properties.getMaxAttempts())
+                .exponentialBackoff(
+                        properties.getInitialBackoff().toMillis(),
+                        2.0,
+                        properties.getMaxBackoff().toMillis(),
+                        true
+                )
+                .retryOn(List.of(
+                        ResourceAccessException.class,
+                        HttpServerErrorException.class,
+                        HttpClientErrorException.TooManyRequests.class
+                ))
+                .build();
+
+        this.successCounter = meterRegistry.counter("commercify.payments.gateway.calls", "provider", provider, "result", "success");
+        this.failureCounter = meterRegistry.counter("commercify.payments.gateway.calls", "provider", provider, "result", "failure");
+        this.retryCounter = meterRegistry.counter("commercify.payments.gateway.calls", "provider", provider, "result", "retry");
+        this.rejectedCounter = meterRegistry.counter("commercify.payments.gateway.calls", "provider", provider, "result", "rejected");
+        Gauge.builder("commercify.payments.gateway.circuit.open", circuitBreaker, breaker -> breaker.isOpen() ? 1 : 0)
+                .tag("provider", provider)
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        acquireBulkhead();
+        try {
+            return retryTemplate.execute(context -> {
+                if (context.getRetryCount() > 0) {
+                    retryCounter.increment();
+                }
+                return attempt(call);
+            });
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private void acquireBulkhead() {
+        try {
+            if (!bulkhead.tryAcquire(bulkheadWaitMillis, TimeUnit.MILLISECONDS)) {
+                rejectedCounter.increment();
+                throw new ServiceUnavailableException("Too many concurrent " + provider + " requests, please retry");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for " + provider, e);
+        }
+    }
+
+    private <T> T attempt(Supplier<T> call) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException(provider + " is unavailable, please retry later");
+        }
+
+        try {
+            T result = call.get();
+            circuitBreaker.onSuccess();
+            successCounter.increment();
+            return result;
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                circuitBreaker.onFailure();
+                failureCounter.increment();
+            } else {
+                // The provider answered, it just did not like the request
+                circuitBreaker.onSuccess();
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof ResourceAccessException
+                || e instanceof HttpServerErrorException
+                || e instanceof HttpClientErrorException.TooManyRequests;
+    }
+}
@@ -0,0 +1,64 @@
+package com.zenfulcode.commercify.payment.infrastructure.gateway.client;
+
+import java.time.Duration;
+
+/**
+ * Opens after a run of consecutive failures, so calls fail fast for a while instead of
+ * waiting on a provider that is down. Once the open period is over a single trial call is
+ * let through: success closes the circuit, failure opens it again.
+ */
+class ProviderCircuitBreaker {
+    private enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    ProviderCircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Whether a call may go ahead. Every permitted call must report back through
+     * {@link #onSuccess()} or {@link #onFailure()}.
+     */
+    synchronized boolean tryAcquirePermission() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> {
+                if (System.nanoTime() - openedAt < openNanos) {
+                    yield false;
+                }
+                state = State.HALF_OPEN;
+                yield true;
+            }
+            // The trial call is still in flight
+            case HALF_OPEN -> false;
+        };
+    }
+
+    synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    synchronized boolean isOpen() {
+        return state != State.CLOSED;
+    }
+}
@@ -0,0 +1,57 @@
+package com.zenfulcode.commercify.payment.infrastructure.gateway.client;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps in-flight requests per scheme, host and port. The JDK client has no per-route pool
+ * limit, so without this a slow gateway could collect every request thread. Failing to get
+ * a permit surfaces as an I/O error, which RestTemplate reports as a ResourceAccessException.
+ */
+public class RouteConcurrencyLimiter implements ClientHttpRequestInterceptor {
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+    private final int maxRequestsPerRoute;
+    private final Duration acquireTimeout;
+
+    public RouteConcurrencyLimiter(int maxRequestsPerRoute, Duration acquireTimeout) {
+        this.maxRequestsPerRoute = maxRequestsPerRoute;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        String route = route(request.getURI());
+        Semaphore semaphore = permits.computeIfAbsent(route, key -> new Semaphore(maxRequestsPerRoute));
+
+        try {
+            if (!semaphore.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IOException("Too many concurrent requests to " + route);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + route);
+        }
+
+        // Covers sending the request and waiting for the response headers
+        try {
+            return execution.execute(request, body);
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    private static String route(URI uri) {
+        return uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+    }
+}
@@ -5,6 +5,8 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Setter
 @Getter
 @Configuration
@@ -17,4 +19,7 @@ public class MobilepayConfig {
     private String apiUrl;
     private String systemName;
     private String webhookCallback;
+    // The access token is renewed in the background once it is this close to expiring
+    private Duration tokenRefreshAhead = Duration.ofMinutes(5);
+    private long tokenRefreshCheckIntervalMs = 30000;
 }
@@ -0,0 +1,62 @@
+package com.zenfulcode.commercify.payment.infrastructure.gateway.config;
+
+import com.zenfulcode.commercify.payment.infrastructure.gateway.client.ProviderCallGuard;
+import com.zenfulcode.commercify.payment.infrastructure.gateway.client.RouteConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+
+/**
+ * HTTP client for the payment gateways. One JDK HttpClient keeps its connections alive
+ * between calls, so a payment does not pay a TLS handshake per request, and speaks HTTP/2
+ * where the gateway supports it.
+ * <p>
+ * The RestTemplate comes from Boot's RestTemplateBuilder, which records
+ * {@code http.client.requests} timers. Callers pass URI templates relative to the root
+ * URI, so the {@code uri} tag names the endpoint and not every payment id. Pointing the
+ * provider's api-url at a local stub server is enough to exercise the client, including
+ * its retries and circuit breaker.
+ */
+@Configuration
+public class PaymentHttpClientConfig {
+
+    @Bean
+    public HttpClient paymentHttpClient(PaymentHttpClientProperties properties) {
+        return HttpClient.newBuilder()
+                .version(properties.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    @Bean
+    public RestTemplate mobilepayRestTemplate(
+            RestTemplateBuilder builder,
+            HttpClient paymentHttpClient,
+            PaymentHttpClientProperties properties,
+            MobilepayConfig mobilepayConfig
+    ) {
+        return builder
+                .rootUri(mobilepayConfig.getApiUrl())
+                .requestFactory(() -> {
+                    JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(paymentHttpClient);
+                    factory.setReadTimeout(properties.getReadTimeout());
+                    return factory;
+                })
+                .additionalInterceptors(new RouteConcurrencyLimiter(
+                        properties.getMaxRequestsPerRoute(),
+                        properties.getAcquireTimeout()
+                ))
+                .build();
+    }
+
+    @Bean
+    public ProviderCallGuard mobilepayCallGuard(PaymentResilienceProperties properties, MeterRegistry meterRegistry) {
+        return new ProviderCallGuard("mobilepay", properties, meterRegistry);
+    }
+}
@@ -0,0 +1,22 @@
+package com.zenfulcode.commercify.payment.infrastructure.gateway.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "integration.payments.http")
+public class PaymentHttpClientProperties {
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration readTimeout = Duration.ofSeconds(15);
+    // Negotiated over TLS and falls back to HTTP/1.1; turn off for plain-http stub servers
+    private boolean http2 = true;
+    // In-flight requests per host; callers beyond it wait up to acquireTimeout
+    private int maxRequestsPerRoute = 20;
+    private Duration acquireTimeout = Duration.ofSeconds(2);
+}
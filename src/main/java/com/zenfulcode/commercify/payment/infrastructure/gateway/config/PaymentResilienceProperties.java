@@ -0,0 +1,28 @@
+package com.zenfulcode.commercify.payment.infrastructure.gateway.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "integration.payments.resilience")
+public class PaymentResilienceProperties {
+    // Attempts per call, the first one included; only transient failures are retried
+    private int maxAttempts = 3;
+    // Backoff doubles per retry, each delay randomised between itself and twice itself
+    private Duration initialBackoff = Duration.ofMillis(200);
+    private Duration maxBackoff = Duration.ofSeconds(2);
+
+    // Transient failures in a row that open the circuit, and how long it stays open
+    private int failureThreshold = 5;
+    private Duration openDuration = Duration.ofSeconds(30);
+
+    // Calls in progress at once, retries and backoff included; callers beyond it wait up to bulkheadWait
+    private int maxConcurrentCalls = 16;
+    private Duration bulkheadWait = Duration.ofMillis(100);
+}
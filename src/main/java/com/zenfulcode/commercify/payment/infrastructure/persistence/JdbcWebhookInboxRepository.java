@@ -0,0 +1,149 @@
+package com.zenfulcode.commercify.payment.infrastructure.persistence;
+
+import com.zenfulcode.commercify.payment.domain.model.PaymentProvider;
+import com.zenfulcode.commercify.payment.infrastructure.webhook.InboxWebhook;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Plain JDBC access to payment_webhook_inbox. Only the oldest unfinished webhook of a
+ * payment can be claimed, so webhooks of one payment are processed one at a time and in
+ * arrival order, across all nodes. Claiming moves a webhook to PROCESSING and pushes
+ * next_attempt_at out by a lease; a webhook whose worker died is claimed again once the
+ * lease runs out.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcWebhookInboxRepository {
+    // Redelivered events are skipped on the (provider, event_id) key
+    private static final String INSERT = """
+            INSERT IGNORE INTO payment_webhook_inbox
+                (provider, event_id, payment_reference, event_type, payload, status, attempts, next_attempt_at, received_at)
+            VALUES (?, ?, ?, ?, ?, 'PENDING', 0, ?, ?)
+            """;
+
+    // Only the inbox row is locked; the ordering check is a plain read, so a row skipped
+    // because another node holds it still counts as an earlier unfinished webhook
+    private static final String SELECT_DUE = """
+            SELECT i.id, i.provider, i.event_id, i.payment_reference, i.payload, i.attempts, i.received_at
+            FROM payment_webhook_inbox i
+            WHERE i.status IN ('PENDING', 'PROCESSING') AND i.next_attempt_at <= ?
+              AND NOT EXISTS (
+                  SELECT 1 FROM payment_webhook_inbox e
+                  WHERE e.payment_reference = i.payment_reference
+                    AND e.status IN ('PENDING', 'PROCESSING')
+                    AND e.id < i.id
+              )
+            ORDER BY i.id
+            LIMIT ?
+            FOR UPDATE OF i SKIP LOCKED
+            """;
+
+    private static final RowMapper<InboxWebhook> INBOX_WEBHOOK_MAPPER = (rs, rowNum) -> new InboxWebhook(
+            rs.getLong("id"),
+            PaymentProvider.valueOf(rs.getString("provider")),
+            rs.getString("event_id"),
+            rs.getString("payment_reference"),
+            rs.getString("payload"),
+            rs.getInt("attempts"),
+            rs.getTimestamp("received_at").toInstant()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return false when the provider delivered this event before
+     */
+    public boolean insert(PaymentProvider provider, String eventId, String paymentReference, String eventType, String payload) {
+        Timestamp now = Timestamp.from(Instant.now());
+        return jdbcTemplate.update(INSERT,
+                provider.name(), eventId, paymentReference, eventType, payload, now, now) > 0;
+    }
+
+    /**
+     * Locks and leases due webhooks. Must be called inside a transaction.
+     */
+    public List<InboxWebhook> claimDue(int limit, Instant leaseUntil) {
+        List<InboxWebhook> due = jdbcTemplate.query(SELECT_DUE, INBOX_WEBHOOK_MAPPER, Timestamp.from(Instant.now()), limit);
+        if (due.isEmpty()) {
+            return due;
+        }
+
+        List<Object> args = new ArrayList<>(due.size() + 1);
+        args.add(Timestamp.from(leaseUntil));
+        due.forEach(webhook -> args.add(webhook.id()));
+        jdbcTemplate.update(
+                "UPDATE payment_webhook_inbox SET status = 'PROCESSING', attempts = attempts + 1, next_attempt_at = ?"
+                        + " WHERE id IN (" + String.join(", ", Collections.nCopies(due.size(), "?")) + ")",
+                args.toArray()
+        );
+
+        return due;
+    }
+
+    /**
+     * Makes a claimed webhook due again without counting the attempt.
+     */
+    public void release(long id) {
+        jdbcTemplate.update(
+                "UPDATE payment_webhook_inbox SET status = 'PENDING', attempts = attempts - 1, next_attempt_at = ? WHERE id = ?",
+                Timestamp.from(Instant.now()), id
+        );
+    }
+
+    public void markProcessed(long id) {
+        jdbcTemplate.update(
+                "UPDATE payment_webhook_inbox SET status = 'PROCESSED', processed_at = ?, last_error = NULL WHERE id = ?",
+                Timestamp.from(Instant.now()), id
+        );
+    }
+
+    public void scheduleRetry(long id, Instant nextAttemptAt, String error) {
+        jdbcTemplate.update(
+                "UPDATE payment_webhook_inbox SET status = 'PENDING', next_attempt_at = ?, last_error = ? WHERE id = ?",
+                Timestamp.from(nextAttemptAt), truncate(error), id
+        );
+    }
+
+    public void markFailed(long id, String error) {
+        jdbcTemplate.update(
+                "UPDATE payment_webhook_inbox SET status = 'FAILED', last_error = ? WHERE id = ?",
+                truncate(error), id
+        );
+    }
+
+    public long countUnprocessed() {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM payment_webhook_inbox WHERE status IN ('PENDING', 'PROCESSING')", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    public Optional<Instant> findOldestUnprocessed() {
+        Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(received_at) FROM payment_webhook_inbox WHERE status IN ('PENDING', 'PROCESSING')", Timestamp.class);
+        return Optional.ofNullable(oldest).map(Timestamp::toInstant);
+    }
+
+    public int deleteProcessedBefore(Instant cutoff) {
+        return jdbcTemplate.update(
+                "DELETE FROM payment_webhook_inbox WHERE status = 'PROCESSED' AND processed_at < ?",
+                Timestamp.from(cutoff)
+        );
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= 1000) {
+            return error;
+        }
+        return error.substring(0, 1000);
+    }
+}
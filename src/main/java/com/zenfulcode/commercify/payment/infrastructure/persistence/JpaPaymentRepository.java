@@ -4,11 +4,14 @@ import com.zenfulcode.commercify.order.domain.valueobject.OrderId;
 import com.zenfulcode.commercify.payment.domain.model.Payment;
 import com.zenfulcode.commercify.payment.domain.repository.PaymentRepository;
 import com.zenfulcode.commercify.payment.domain.valueobject.PaymentId;
+import com.zenfulcode.commercify.payment.domain.valueobject.PaymentStatus;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -38,7 +41,19 @@ public class JpaPaymentRepository implements PaymentRepository {
 
     @Override
     public Optional<Payment> findByOrderId(OrderId orderId) {
-        return repository.findPaymentByOrder_Id(orderId);
+        return repository.findFirstByOrder_IdAndStatusNotOrderByCreatedAtDesc(orderId, PaymentStatus.FAILED);
+    }
+
+    @Override
+    public List<Payment> findPendingWithoutProviderReferenceByOrderId(OrderId orderId, Instant createdBefore) {
+        return repository.findByOrder_IdAndStatusAndProviderReferenceIsNullAndCreatedAtBefore(
+                orderId, PaymentStatus.PENDING, createdBefore);
+    }
+
+    @Override
+    public List<PaymentId> findPendingWithoutProviderReference(Instant createdBefore, int limit) {
+        return repository.findIdsByStatusWithoutProviderReference(
+                PaymentStatus.PENDING, createdBefore, PageRequest.of(0, limit));
     }
 
     @Override
@@ -3,9 +3,15 @@ package com.zenfulcode.commercify.payment.infrastructure.persistence;
 import com.zenfulcode.commercify.order.domain.valueobject.OrderId;
 import com.zenfulcode.commercify.payment.domain.model.Payment;
 import com.zenfulcode.commercify.payment.domain.valueobject.PaymentId;
+import com.zenfulcode.commercify.payment.domain.valueobject.PaymentStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,5 +20,23 @@ public interface SpringDataJpaPaymentRepository extends JpaRepository<Payment, P
 
     Optional<Payment> findPaymentByTransactionId(String transactionId);
 
-    Optional<Payment> findPaymentByOrder_Id(OrderId orderId);
+    // Abandoned attempts stay FAILED next to the live payment, so the newest other one wins
+    Optional<Payment> findFirstByOrder_IdAndStatusNotOrderByCreatedAtDesc(OrderId orderId, PaymentStatus status);
+
+    List<Payment> findByOrder_IdAndStatusAndProviderReferenceIsNullAndCreatedAtBefore(
+            OrderId orderId,
+            PaymentStatus status,
+            Instant createdBefore
+    );
+
+    @Query("""
+            SELECT p.id FROM Payment p
+            WHERE p.status = :status AND p.providerReference IS NULL AND p.createdAt < :createdBefore
+            ORDER BY p.createdAt
+            """)
+    List<PaymentId> findIdsByStatusWithoutProviderReference(
+            @Param("status") PaymentStatus status,
+            @Param("createdBefore") Instant createdBefore,
+            Pageable pageable
+    );
 }
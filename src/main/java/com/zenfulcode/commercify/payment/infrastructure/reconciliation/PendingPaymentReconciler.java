@@ -0,0 +1,64 @@
+package com.zenfulcode.commercify.payment.infrastructure.reconciliation;
+
+import com.zenfulcode.commercify.payment.application.service.PaymentApplicationService;
+import com.zenfulcode.commercify.payment.domain.valueobject.PaymentId;
+import com.zenfulcode.commercify.payment.infrastructure.config.PendingPaymentProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Settles payments that were committed as PENDING but never got a provider reference,
+ * because the provider call failed or the process died before the reference was
+ * recorded. Payments the provider cannot settle yet, e.g. while it is down, are simply
+ * picked up again on the next run.
+ */
+@Slf4j
+@Component
+public class PendingPaymentReconciler {
+    private final PaymentApplicationService paymentService;
+    private final PendingPaymentProperties properties;
+
+    private final AtomicLong stale;
+    private final Counter reconciledCounter;
+    private final Counter errorCounter;
+
+    public PendingPaymentReconciler(
+            PaymentApplicationService paymentService,
+            PendingPaymentProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.paymentService = paymentService;
+        this.properties = properties;
+
+        // Stale payments found by the last run, capped at the batch size
+        this.stale = meterRegistry.gauge("commercify.payments.pending.stale", new AtomicLong());
+        this.reconciledCounter = meterRegistry.counter("commercify.payments.pending.reconciled", "result", "settled");
+        this.errorCounter = meterRegistry.counter("commercify.payments.pending.reconciled", "result", "error");
+    }
+
+    @Scheduled(fixedDelayString = "${commercify.payments.pending.reconcile-interval-ms:60000}", initialDelay = 60000)
+    public void reconcile() {
+        List<PaymentId> payments = paymentService.getStalePendingPayments(
+                Instant.now().minus(properties.getGracePeriod()),
+                properties.getBatchSize()
+        );
+        stale.set(payments.size());
+
+        for (PaymentId paymentId : payments) {
+            try {
+                paymentService.reconcilePendingPayment(paymentId);
+                reconciledCounter.increment();
+            } catch (Exception e) {
+                log.warn("Failed to reconcile pending payment {}: {}", paymentId, e.getMessage());
+                errorCounter.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.zenfulcode.commercify.payment.infrastructure.webhook;
+
+import com.zenfulcode.commercify.payment.domain.model.PaymentProvider;
+
+import java.time.Instant;
+
+/**
+ * A row of the payment webhook inbox as claimed by an inbox worker.
+ */
+public record InboxWebhook(
+        long id,
+        PaymentProvider provider,
+        String eventId,
+        String paymentReference,
+        String payload,
+        int attempts,
+        Instant receivedAt
+) {
+}
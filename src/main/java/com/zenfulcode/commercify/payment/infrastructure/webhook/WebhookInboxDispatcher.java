@@ -0,0 +1,150 @@
+package com.zenfulcode.commercify.payment.infrastructure.webhook;
+
+import com.zenfulcode.commercify.payment.application.service.PaymentWebhookIngestionService;
+import com.zenfulcode.commercify.payment.infrastructure.config.PaymentWebhookProperties;
+import com.zenfulcode.commercify.payment.infrastructure.persistence.JdbcWebhookInboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the payment webhook inbox on the inbox workers. The claim query hands out at
+ * most one webhook per payment at a time, so each claimed webhook can go to any free
+ * worker without breaking per-payment ordering. Failed webhooks are retried with
+ * exponential backoff; after {@code maxAttempts} they are left as FAILED, which lets the
+ * payment's later webhooks through.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "commercify.payments.webhooks", name = "ingestion-mode", havingValue = "inbox")
+public class WebhookInboxDispatcher {
+    private final JdbcWebhookInboxRepository inboxRepository;
+    private final PaymentWebhookIngestionService ingestionService;
+    private final ThreadPoolTaskExecutor executor;
+    private final TransactionTemplate transactionTemplate;
+    private final PaymentWebhookProperties.Inbox config;
+
+    private final AtomicLong backlog;
+    private final AtomicLong oldestAgeSeconds;
+    private final Timer lagTimer;
+    private final Counter processedCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+
+    public WebhookInboxDispatcher(
+            JdbcWebhookInboxRepository inboxRepository,
+            PaymentWebhookIngestionService ingestionService,
+            @Qualifier("webhookInboxExecutor") ThreadPoolTaskExecutor executor,
+            TransactionTemplate transactionTemplate,
+            PaymentWebhookProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.inboxRepository = inboxRepository;
+        this.ingestionService = ingestionService;
+        this.executor = executor;
+        this.transactionTemplate = transactionTemplate;
+        this.config = properties.getInbox();
+
+        this.backlog = meterRegistry.gauge("commercify.payments.webhooks.inbox.backlog", new AtomicLong());
+        // Age of the oldest webhook not yet processed
+        this.oldestAgeSeconds = meterRegistry.gauge("commercify.payments.webhooks.inbox.oldest.age", new AtomicLong());
+        // Time from receiving a webhook to having processed it
+        this.lagTimer = meterRegistry.timer("commercify.payments.webhooks.inbox.lag");
+        this.processedCounter = meterRegistry.counter("commercify.payments.webhooks.processed", "result", "processed");
+        this.retriedCounter = meterRegistry.counter("commercify.payments.webhooks.processed", "result", "retried");
+        this.failedCounter = meterRegistry.counter("commercify.payments.webhooks.processed", "result", "failed");
+    }
+
+    @Scheduled(fixedDelayString = "${commercify.payments.webhooks.inbox.poll-interval-ms:500}")
+    public void poll() {
+        backlog.set(inboxRepository.countUnprocessed());
+        oldestAgeSeconds.set(inboxRepository.findOldestUnprocessed()
+                .map(oldest -> Duration.between(oldest, Instant.now()).toSeconds())
+                .orElse(0L));
+
+        int freeWorkers = config.getWorkerThreads() - executor.getActiveCount();
+        if (freeWorkers <= 0) {
+            return;
+        }
+
+        List<InboxWebhook> batch = claim(Math.min(freeWorkers, config.getBatchSize()));
+        for (InboxWebhook webhook : batch) {
+            try {
+                executor.execute(() -> work(webhook));
+            } catch (TaskRejectedException e) {
+                inboxRepository.release(webhook.id());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 3600000, initialDelay = 60000)
+    public void purgeProcessed() {
+        int purged = inboxRepository.deleteProcessedBefore(Instant.now().minus(config.getProcessedRetention()));
+        if (purged > 0) {
+            log.info("Purged {} processed webhooks from the inbox", purged);
+        }
+    }
+
+    /**
+     * Keeps a worker busy while webhooks are due, instead of idling until the next poll.
+     */
+    private void work(InboxWebhook first) {
+        InboxWebhook webhook = first;
+        while (webhook != null) {
+            process(webhook);
+            List<InboxWebhook> next = claim(1);
+            webhook = next.isEmpty() ? null : next.get(0);
+        }
+    }
+
+    private List<InboxWebhook> claim(int limit) {
+        Instant leaseUntil = Instant.now().plus(config.getLease());
+        List<InboxWebhook> claimed = transactionTemplate.execute(status -> inboxRepository.claimDue(limit, leaseUntil));
+        return claimed == null ? List.of() : claimed;
+    }
+
+    private void process(InboxWebhook webhook) {
+        try {
+            ingestionService.processInboxWebhook(webhook);
+            lagTimer.record(Duration.between(webhook.receivedAt(), Instant.now()));
+            processedCounter.increment();
+        } catch (Exception e) {
+            retryOrFail(webhook, e);
+        }
+    }
+
+    private void retryOrFail(InboxWebhook webhook, Exception failure) {
+        // attempts was incremented when the webhook was claimed
+        int attempt = webhook.attempts() + 1;
+        if (attempt >= config.getMaxAttempts()) {
+            log.error("Giving up on {} webhook {} for payment {} after {} attempts",
+                    webhook.provider(), webhook.eventId(), webhook.paymentReference(), attempt, failure);
+            inboxRepository.markFailed(webhook.id(), failure.getMessage());
+            failedCounter.increment();
+            return;
+        }
+
+        log.warn("Failed to process {} webhook {} (attempt {}): {}",
+                webhook.provider(), webhook.eventId(), attempt, failure.getMessage());
+        inboxRepository.scheduleRetry(webhook.id(), Instant.now().plus(backoff(attempt)), failure.getMessage());
+        retriedCounter.increment();
+    }
+
+    private Duration backoff(int attempt) {
+        Duration delay = config.getInitialBackoff().multipliedBy(1L << Math.min(attempt - 1, 20));
+        return delay.compareTo(config.getMaxBackoff()) > 0 ? config.getMaxBackoff() : delay;
+    }
+}
@@ -11,9 +11,11 @@ import com.zenfulcode.commercify.product.domain.repository.ProductRepository;
 import com.zenfulcode.commercify.product.domain.service.ProductDomainService;
 import com.zenfulcode.commercify.product.domain.valueobject.*;
 import com.zenfulcode.commercify.shared.domain.event.DomainEventPublisher;
+import com.zenfulcode.commercify.shared.domain.valueobject.PageCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -183,6 +185,19 @@ public class ProductApplicationService {
         };
     }
 
+    /**
+     * Queries for products using keyset pagination, newest first
+     */
+    @Transactional(readOnly = true)
+    public Slice<Product> findProducts(ProductQuery query, PageCursor after, int size) {
+        return switch (query.type()) {
+            case ALL -> productRepository.findAllAfter(after, size);
+            case ACTIVE -> productRepository.findActiveAfter(after, size);
+            case BY_CATEGORY -> productRepository.findByCategoryAfter(query.categoryId(), after, size);
+            case LOW_STOCK -> productRepository.findByStockLessThanAfter(query.threshold(), after, size);
+        };
+    }
+
     @Transactional(readOnly = true)
     public Product getProductById(ProductId productId) {
         return productDomainService.getProductById(productId);
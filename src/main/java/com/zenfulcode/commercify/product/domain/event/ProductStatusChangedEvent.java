@@ -0,0 +1,24 @@
+package com.zenfulcode.commercify.product.domain.event;
+
+import com.zenfulcode.commercify.product.domain.valueobject.ProductId;
+import com.zenfulcode.commercify.shared.domain.event.DomainEvent;
+import com.zenfulcode.commercify.shared.domain.valueobject.AggregateId;
+import lombok.Getter;
+
+@Getter
+public class ProductStatusChangedEvent extends DomainEvent {
+    @AggregateId
+    private final ProductId productId;
+    private final boolean active;
+
+    public ProductStatusChangedEvent(Object source, ProductId productId, boolean active) {
+        super(source);
+        this.productId = productId;
+        this.active = active;
+    }
+
+    @Override
+    public String getEventType() {
+        return "PRODUCT_STATUS_CHANGED";
+    }
+}
@@ -0,0 +1,13 @@
+package com.zenfulcode.commercify.product.domain.event;
+
+import com.zenfulcode.commercify.product.domain.valueobject.ProductId;
+
+import java.util.Set;
+
+/**
+ * In-process notification that stock of the given products was reserved or released.
+ * Unlike the domain events it is not stored; it only tells readers of cached stock
+ * levels, such as the product catalog cache, to drop them once the change commits.
+ */
+public record StockLevelsChangedEvent(Set<ProductId> productIds) {
+}
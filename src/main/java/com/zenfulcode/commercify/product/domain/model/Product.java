@@ -2,6 +2,7 @@ package com.zenfulcode.commercify.product.domain.model;
 
 import com.zenfulcode.commercify.product.domain.event.ProductCreatedEvent;
 import com.zenfulcode.commercify.product.domain.event.ProductPriceUpdatedEvent;
+import com.zenfulcode.commercify.product.domain.event.ProductStatusChangedEvent;
 import com.zenfulcode.commercify.product.domain.exception.InsufficientStockException;
 import com.zenfulcode.commercify.product.domain.exception.ProductModificationException;
 import com.zenfulcode.commercify.product.domain.valueobject.CategoryId;
@@ -123,11 +124,20 @@ public class Product extends AggregateRoot {
     }
 
     public void activate() {
-        this.active = true;
+        changeStatus(true);
     }
 
     public void deactivate() {
-        this.active = false;
+        changeStatus(false);
+    }
+
+    private void changeStatus(boolean active) {
+        if (isActive() == active) {
+            return;
+        }
+
+        this.active = active;
+        registerEvent(new ProductStatusChangedEvent(this, id, active));
     }
 
     public boolean hasEnoughStock(int quantity) {
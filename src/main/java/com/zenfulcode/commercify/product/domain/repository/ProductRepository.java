@@ -4,9 +4,12 @@ import com.zenfulcode.commercify.product.domain.model.Product;
 import com.zenfulcode.commercify.product.domain.model.ProductVariant;
 import com.zenfulcode.commercify.product.domain.valueobject.CategoryId;
 import com.zenfulcode.commercify.product.domain.valueobject.ProductId;
+import com.zenfulcode.commercify.product.domain.valueobject.StockReservation;
 import com.zenfulcode.commercify.product.domain.valueobject.VariantId;
+import com.zenfulcode.commercify.shared.domain.valueobject.PageCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.time.Instant;
 import java.util.Collection;
@@ -28,9 +31,29 @@ public interface ProductRepository {
 
     Page<Product> findByStockLessThan(int threshold, Pageable pageable);
 
+    // Keyset variants: newest first, strictly after the cursor, without a total count
+    Slice<Product> findAllAfter(PageCursor after, int size);
+
+    Slice<Product> findActiveAfter(PageCursor after, int size);
+
+    Slice<Product> findByCategoryAfter(CategoryId categoryId, PageCursor after, int size);
+
+    Slice<Product> findByStockLessThanAfter(int threshold, PageCursor after, int size);
+
     List<Product> findAllById(Collection<ProductId> ids);
 
     List<ProductVariant> findVariantsByIds(Collection<VariantId> variantIds);
 
     int findNewProducts(Instant startDate, Instant endDate);
+
+    /**
+     * Atomically decrements stock for every reservation with a conditional update.
+     *
+     * @return the reservations that could not be satisfied
+     */
+    List<StockReservation> reserveStock(List<StockReservation> reservations);
+
+    void releaseStock(List<StockReservation> reservations);
+
+    int findCurrentStock(StockReservation reservation);
 }
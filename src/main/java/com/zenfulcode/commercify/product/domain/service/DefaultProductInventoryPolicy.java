@@ -5,29 +5,28 @@ import com.zenfulcode.commercify.product.domain.event.LowStockEvent;
 import com.zenfulcode.commercify.product.domain.event.StockCorrectionEvent;
 import com.zenfulcode.commercify.product.domain.model.Product;
 import com.zenfulcode.commercify.product.domain.valueobject.InventoryAdjustment;
-import com.zenfulcode.commercify.shared.domain.event.DomainEventPublisher;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+/**
+ * Stock events are registered on the product and go out with its other events, in the
+ * caller's transaction, so their listeners see the committed stock.
+ */
 @Service
-@RequiredArgsConstructor
 public class DefaultProductInventoryPolicy implements ProductInventoryPolicy {
     private static final int LOW_STOCK_THRESHOLD = 5;
     private static final int REORDER_THRESHOLD = 10;
 
-    private final DomainEventPublisher eventPublisher;
-
     @Override
     public void initializeInventory(Product product) {
         if (product.getStock() <= REORDER_THRESHOLD) {
-            eventPublisher.publish(new LowStockEvent(this, product.getId(), product.getStock()));
+            product.registerEvent(new LowStockEvent(this, product.getId(), product.getStock()));
         }
     }
 
     @Override
     public void handleStockIncrease(Product product, InventoryAdjustment adjustment) {
         if (adjustment.quantity() > 100) {
-            eventPublisher.publish(new LargeStockIncreaseEvent(
+            product.registerEvent(new LargeStockIncreaseEvent(
                     this,
                     product.getId(),
                     adjustment.quantity(),
@@ -39,13 +38,13 @@ public class DefaultProductInventoryPolicy implements ProductInventoryPolicy {
     @Override
     public void handleStockDecrease(Product product, InventoryAdjustment adjustment) {
         if (product.getStock() <= LOW_STOCK_THRESHOLD) {
-            eventPublisher.publish(new LowStockEvent(this, product.getId(), product.getStock()));
+            product.registerEvent(new LowStockEvent(this, product.getId(), product.getStock()));
         }
     }
 
     @Override
     public void handleStockCorrection(Product product, InventoryAdjustment adjustment) {
-        eventPublisher.publish(new StockCorrectionEvent(
+        product.registerEvent(new StockCorrectionEvent(
                 this,
                 product.getId(),
                 adjustment.quantity(),
@@ -0,0 +1,91 @@
+package com.zenfulcode.commercify.product.domain.service;
+
+import com.zenfulcode.commercify.product.domain.event.StockLevelsChangedEvent;
+import com.zenfulcode.commercify.product.domain.exception.InsufficientStockException;
+import com.zenfulcode.commercify.product.domain.repository.ProductRepository;
+import com.zenfulcode.commercify.product.domain.valueobject.StockReservation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Reserves and releases stock directly in the database. Each reservation is a conditional
+ * decrement, so concurrent checkouts cannot oversell without taking pessimistic locks.
+ * <p>
+ * Must run inside the caller's transaction: a rejected line throws, and rolling back undoes
+ * the decrements already applied for the other lines. The conditional updates raise no
+ * domain event, so a {@link StockLevelsChangedEvent} tells stock caches which products
+ * changed once that transaction commits.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InventoryReservationService {
+    private static final Comparator<StockReservation> LOCK_ORDER = Comparator
+            .comparing(StockReservation::isVariantReservation)
+            .thenComparing(StockReservation::targetId);
+
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public void reserve(List<StockReservation> reservations) {
+        List<StockReservation> merged = merge(reservations);
+        if (merged.isEmpty()) {
+            return;
+        }
+
+        List<StockReservation> rejected = productRepository.reserveStock(merged);
+        if (!rejected.isEmpty()) {
+            StockReservation first = rejected.get(0);
+            throw new InsufficientStockException(
+                    first.isVariantReservation() ? first.variantId() : first.productId(),
+                    first.quantity(),
+                    productRepository.findCurrentStock(first)
+            );
+        }
+
+        eventPublisher.publishEvent(stockLevelsChanged(merged));
+        log.debug("Reserved stock for {} items", merged.size());
+    }
+
+    public void release(List<StockReservation> reservations) {
+        List<StockReservation> merged = merge(reservations);
+        if (merged.isEmpty()) {
+            return;
+        }
+
+        productRepository.releaseStock(merged);
+        eventPublisher.publishEvent(stockLevelsChanged(merged));
+        log.debug("Released stock for {} items", merged.size());
+    }
+
+    private static StockLevelsChangedEvent stockLevelsChanged(List<StockReservation> reservations) {
+        return new StockLevelsChangedEvent(reservations.stream()
+                .map(StockReservation::productId)
+                .collect(Collectors.toSet()));
+    }
+
+    /**
+     * Combines lines for the same product or variant and sorts them, so concurrent
+     * reservations touch rows in the same order and cannot deadlock each other.
+     */
+    private List<StockReservation> merge(List<StockReservation> reservations) {
+        Map<String, StockReservation> byTarget = new LinkedHashMap<>();
+        for (StockReservation reservation : reservations) {
+            String key = (reservation.isVariantReservation() ? "variant:" : "product:") + reservation.targetId();
+            byTarget.merge(key, reservation,
+                    (existing, added) -> existing.withQuantity(existing.quantity() + added.quantity()));
+        }
+
+        return byTarget.values().stream()
+                .sorted(LOCK_ORDER)
+                .toList();
+    }
+}
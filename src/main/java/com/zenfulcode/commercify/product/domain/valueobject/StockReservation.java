@@ -0,0 +1,40 @@
+package com.zenfulcode.commercify.product.domain.valueobject;
+
+import java.util.Objects;
+
+/**
+ * A quantity of stock held against either a product or, when the variant tracks its own
+ * stock, a product variant.
+ */
+public record StockReservation(
+        ProductId productId,
+        VariantId variantId,
+        int quantity
+) {
+    public StockReservation {
+        Objects.requireNonNull(productId);
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Reserved quantity must be positive");
+        }
+    }
+
+    public static StockReservation ofProduct(ProductId productId, int quantity) {
+        return new StockReservation(productId, null, quantity);
+    }
+
+    public static StockReservation ofVariant(ProductId productId, VariantId variantId, int quantity) {
+        return new StockReservation(productId, Objects.requireNonNull(variantId), quantity);
+    }
+
+    public boolean isVariantReservation() {
+        return variantId != null;
+    }
+
+    public String targetId() {
+        return isVariantReservation() ? variantId.getId() : productId.getId();
+    }
+
+    public StockReservation withQuantity(int quantity) {
+        return new StockReservation(productId, variantId, quantity);
+    }
+}
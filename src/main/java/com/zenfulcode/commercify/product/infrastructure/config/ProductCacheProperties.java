@@ -0,0 +1,23 @@
+package com.zenfulcode.commercify.product.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "commercify.cache.products")
+public class ProductCacheProperties {
+    private boolean enabled = true;
+    private long detailsMaximumSize = 10000;
+    private long listingsMaximumSize = 1000;
+    /**
+     * Upper bound on staleness for changes that raise no product event, such as stock
+     * reserved by orders.
+     */
+    private Duration timeToLive = Duration.ofMinutes(5);
+}
@@ -6,24 +6,45 @@ import com.zenfulcode.commercify.product.domain.model.ProductVariant;
 import com.zenfulcode.commercify.product.domain.repository.ProductRepository;
 import com.zenfulcode.commercify.product.domain.valueobject.CategoryId;
 import com.zenfulcode.commercify.product.domain.valueobject.ProductId;
+import com.zenfulcode.commercify.product.domain.valueobject.StockReservation;
 import com.zenfulcode.commercify.product.domain.valueobject.VariantId;
+import com.zenfulcode.commercify.shared.domain.valueobject.PageCursor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public class JpaProductRepository implements ProductRepository {
+    private static final String RESERVE_PRODUCT_STOCK =
+            "UPDATE products SET stock = stock - ? WHERE id = ? AND stock >= ?";
+    private static final String RESERVE_VARIANT_STOCK =
+            "UPDATE product_variants SET stock = stock - ? WHERE id = ? AND stock >= ?";
+    private static final String RELEASE_PRODUCT_STOCK =
+            "UPDATE products SET stock = stock + ? WHERE id = ?";
+    private static final String RELEASE_VARIANT_STOCK =
+            "UPDATE product_variants SET stock = stock + ? WHERE id = ?";
+
     private final SpringDataJpaProductRepository repository;
     private final SpringDataJpaVariantRepository variantRepository;
+    private final JdbcTemplate jdbcTemplate;
 
-    JpaProductRepository(SpringDataJpaProductRepository repository, SpringDataJpaVariantRepository variantRepository) {
+    JpaProductRepository(
+            SpringDataJpaProductRepository repository,
+            SpringDataJpaVariantRepository variantRepository,
+            JdbcTemplate jdbcTemplate
+    ) {
         this.repository = repository;
         this.variantRepository = variantRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
@@ -61,6 +82,26 @@ public class JpaProductRepository implements ProductRepository {
         return repository.findByStockLessThan(threshold, pageable);
     }
 
+    @Override
+    public Slice<Product> findAllAfter(PageCursor after, int size) {
+        return repository.findAllAfter(after.createdAt(), after.id(), PageRequest.ofSize(size));
+    }
+
+    @Override
+    public Slice<Product> findActiveAfter(PageCursor after, int size) {
+        return repository.findActiveAfter(after.createdAt(), after.id(), PageRequest.ofSize(size));
+    }
+
+    @Override
+    public Slice<Product> findByCategoryAfter(CategoryId categoryId, PageCursor after, int size) {
+        return repository.findByCategoryIdAfter(categoryId, after.createdAt(), after.id(), PageRequest.ofSize(size));
+    }
+
+    @Override
+    public Slice<Product> findByStockLessThanAfter(int threshold, PageCursor after, int size) {
+        return repository.findByStockLessThanAfter(threshold, after.createdAt(), after.id(), PageRequest.ofSize(size));
+    }
+
     @Override
     public List<Product> findAllById(Collection<ProductId> ids) {
         return repository.findAllById(ids);
@@ -75,4 +116,65 @@ public class JpaProductRepository implements ProductRepository {
     public int findNewProducts(Instant startDate, Instant endDate) {
         return repository.countNewProducts(startDate, endDate);
     }
+
+    @Override
+    public List<StockReservation> reserveStock(List<StockReservation> reservations) {
+        List<StockReservation> rejected = new ArrayList<>();
+        rejected.addAll(reserve(RESERVE_PRODUCT_STOCK, productReservations(reservations)));
+        rejected.addAll(reserve(RESERVE_VARIANT_STOCK, variantReservations(reservations)));
+        return rejected;
+    }
+
+    @Override
+    public void releaseStock(List<StockReservation> reservations) {
+        release(RELEASE_PRODUCT_STOCK, productReservations(reservations));
+        release(RELEASE_VARIANT_STOCK, variantReservations(reservations));
+    }
+
+    @Override
+    public int findCurrentStock(StockReservation reservation) {
+        String table = reservation.isVariantReservation() ? "product_variants" : "products";
+        Integer stock = jdbcTemplate.queryForObject(
+                "SELECT stock FROM " + table + " WHERE id = ?",
+                Integer.class,
+                reservation.targetId()
+        );
+        return stock != null ? stock : 0;
+    }
+
+    private List<StockReservation> reserve(String sql, List<StockReservation> reservations) {
+        if (reservations.isEmpty()) {
+            return List.of();
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(sql, reservations.stream()
+                .map(r -> new Object[]{r.quantity(), r.targetId(), r.quantity()})
+                .toList());
+
+        List<StockReservation> rejected = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                rejected.add(reservations.get(i));
+            }
+        }
+        return rejected;
+    }
+
+    private void release(String sql, List<StockReservation> reservations) {
+        if (reservations.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(sql, reservations.stream()
+                .map(r -> new Object[]{r.quantity(), r.targetId()})
+                .toList());
+    }
+
+    private static List<StockReservation> productReservations(List<StockReservation> reservations) {
+        return reservations.stream().filter(r -> !r.isVariantReservation()).toList();
+    }
+
+    private static List<StockReservation> variantReservations(List<StockReservation> reservations) {
+        return reservations.stream().filter(StockReservation::isVariantReservation).toList();
+    }
 }
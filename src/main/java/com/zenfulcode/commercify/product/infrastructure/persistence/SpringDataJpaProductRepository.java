@@ -5,6 +5,7 @@ import com.zenfulcode.commercify.product.domain.valueobject.CategoryId;
 import com.zenfulcode.commercify.product.domain.valueobject.ProductId;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,12 +15,48 @@ import java.time.Instant;
 
 @Repository
 interface SpringDataJpaProductRepository extends JpaRepository<Product, ProductId> {
+    // Seek predicate for keyset pages, served by the (created_at, id) indexes on products
+    String AFTER_CURSOR = """
+                (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id.id < :id))
+            """;
+    String CURSOR_ORDER = " ORDER BY p.createdAt DESC, p.id.id DESC";
+
     Page<Product> findByActiveTrue(Pageable pageable);
 
     Page<Product> findByCategoryId(CategoryId categoryId, Pageable pageable);
 
     Page<Product> findByStockLessThan(int threshold, Pageable pageable);
 
+    @Query("SELECT p FROM Product p WHERE " + AFTER_CURSOR + CURSOR_ORDER)
+    Slice<Product> findAllAfter(
+            @Param("createdAt") Instant createdAt,
+            @Param("id") String id,
+            Pageable pageable
+    );
+
+    @Query("SELECT p FROM Product p WHERE p.active = true AND " + AFTER_CURSOR + CURSOR_ORDER)
+    Slice<Product> findActiveAfter(
+            @Param("createdAt") Instant createdAt,
+            @Param("id") String id,
+            Pageable pageable
+    );
+
+    @Query("SELECT p FROM Product p WHERE p.categoryId = :categoryId AND " + AFTER_CURSOR + CURSOR_ORDER)
+    Slice<Product> findByCategoryIdAfter(
+            @Param("categoryId") CategoryId categoryId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") String id,
+            Pageable pageable
+    );
+
+    @Query("SELECT p FROM Product p WHERE p.stock < :threshold AND " + AFTER_CURSOR + CURSOR_ORDER)
+    Slice<Product> findByStockLessThanAfter(
+            @Param("threshold") int threshold,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") String id,
+            Pageable pageable
+    );
+
     @Query("""
                 SELECT COUNT(p)
                 FROM Product p
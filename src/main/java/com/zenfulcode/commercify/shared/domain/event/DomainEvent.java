@@ -1,6 +1,7 @@
 package com.zenfulcode.commercify.shared.domain.event;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
@@ -8,6 +9,7 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Getter
+@JsonIgnoreProperties({"source", "timestamp"})
 public abstract class DomainEvent extends ApplicationEvent {
     private final String eventId;
     private final long occurredOn;
@@ -1,8 +1,17 @@
 package com.zenfulcode.commercify.shared.domain.event;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface DomainEventStore {
     void store(DomainEvent event);
+    void storeAll(List<DomainEvent> events);
     List<DomainEvent> getEvents(String aggregateId, String aggregateType);
+
+    /**
+     * Streams stored events after the checkpoint in (occurredOn, eventId) order, one page at a time.
+     * An empty type filter replays every event type.
+     */
+    Stream<ReplayedEvent> replay(ReplayCheckpoint from, Collection<Class<? extends DomainEvent>> eventTypes);
 }
@@ -0,0 +1,26 @@
+package com.zenfulcode.commercify.shared.domain.event;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Position in the event log. Events are replayed in (occurredOn, eventId) order, strictly
+ * after the checkpoint, so a stored checkpoint can be used to resume an interrupted replay.
+ */
+public record ReplayCheckpoint(Instant occurredOn, String eventId) {
+    public ReplayCheckpoint {
+        Objects.requireNonNull(occurredOn);
+        Objects.requireNonNull(eventId);
+    }
+
+    public static ReplayCheckpoint beginning() {
+        return since(Instant.EPOCH);
+    }
+
+    /**
+     * Checkpoint that includes every event occurring at or after the given instant.
+     */
+    public static ReplayCheckpoint since(Instant since) {
+        return new ReplayCheckpoint(since, "");
+    }
+}
@@ -0,0 +1,31 @@
+package com.zenfulcode.commercify.shared.domain.event;
+
+import java.util.function.Supplier;
+
+/**
+ * An event read during replay. The payload is only deserialized when {@link #event()} is
+ * called, so consumers that filter on the checkpoint or type skip that cost.
+ */
+public final class ReplayedEvent {
+    private final String eventType;
+    private final ReplayCheckpoint checkpoint;
+    private final Supplier<DomainEvent> loader;
+
+    public ReplayedEvent(String eventType, ReplayCheckpoint checkpoint, Supplier<DomainEvent> loader) {
+        this.eventType = eventType;
+        this.checkpoint = checkpoint;
+        this.loader = loader;
+    }
+
+    public String eventType() {
+        return eventType;
+    }
+
+    public ReplayCheckpoint checkpoint() {
+        return checkpoint;
+    }
+
+    public DomainEvent event() {
+        return loader.get();
+    }
+}
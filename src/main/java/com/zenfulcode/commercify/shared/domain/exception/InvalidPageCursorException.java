@@ -0,0 +1,9 @@
+package com.zenfulcode.commercify.shared.domain.exception;
+
+import java.util.List;
+
+public class InvalidPageCursorException extends DomainValidationException {
+    public InvalidPageCursorException(String cursor) {
+        super("Invalid page cursor: " + cursor, List.of("after is not a valid page cursor"));
+    }
+}
@@ -0,0 +1,15 @@
+package com.zenfulcode.commercify.shared.domain.exception;
+
+/**
+ * A capacity limit was hit; the request was rejected without being attempted and can
+ * be retried later.
+ */
+public class ServiceUnavailableException extends DomainException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
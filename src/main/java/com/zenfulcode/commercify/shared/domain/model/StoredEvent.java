@@ -22,7 +22,13 @@ public class StoredEvent {
 
     @Lob
     @Column(name = "event_data", nullable = false)
-    private String eventData;
+    private byte[] eventData;
+
+    @Column(name = "payload_codec", nullable = false)
+    private String payloadCodec;
+
+    @Column(name = "schema_version", nullable = false)
+    private int schemaVersion;
 
     @Column(name = "occurred_on", nullable = false)
     private Instant occurredOn;
@@ -33,16 +39,23 @@ public class StoredEvent {
     @Column(name = "aggregate_type")
     private String aggregateType;
 
+    @Column(name = "dispatched_at")
+    private Instant dispatchedAt;
+
     public StoredEvent(
             String eventId,
             String eventType,
-            String eventData,
+            byte[] eventData,
+            String payloadCodec,
+            int schemaVersion,
             Instant occurredOn,
             String aggregateId,
             String aggregateType) {
         this.eventId = eventId;
         this.eventType = eventType;
         this.eventData = eventData;
+        this.payloadCodec = payloadCodec;
+        this.schemaVersion = schemaVersion;
         this.occurredOn = occurredOn;
         this.aggregateId = aggregateId;
         this.aggregateType = aggregateType;
@@ -4,53 +4,95 @@ import com.zenfulcode.commercify.shared.domain.event.DomainEvent;
 import com.zenfulcode.commercify.shared.domain.model.AggregateRoot;
 import com.zenfulcode.commercify.shared.domain.valueobject.AggregateId;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.util.Arrays;
 
 public class AggregateReference {
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, DomainEvent.class);
+
+    // Field lookups are resolved once per event class instead of on every serialization
+    private static final ClassValue<EventMetadata> METADATA = new ClassValue<>() {
+        @Override
+        protected EventMetadata computeValue(Class<?> eventClass) {
+            return EventMetadata.resolve(eventClass);
+        }
+    };
 
     public static String extractId(DomainEvent event) {
+        EventMetadata metadata = METADATA.get(event.getClass());
+
         // First try to find a field ending with "Id"
-        String id = Arrays.stream(event.getClass().getDeclaredFields())
-                .filter(field -> field.getName().toLowerCase().endsWith("id"))
-                .findFirst()
-                .map(field -> getFieldValue(field, event))
-                .map(Object::toString)
-                .orElse(null);
+        Object id = metadata.read(metadata.idAccessor(), event);
 
         if (id == null) {
             // Fallback to any field annotated with @AggregateId if exists
-            id = Arrays.stream(event.getClass().getDeclaredFields())
-                    .filter(field -> field.isAnnotationPresent(AggregateId.class))
-                    .findFirst()
-                    .map(field -> getFieldValue(field, event))
-                    .map(Object::toString)
-                    .orElse(event.getEventId()); // Use event ID as last resort
+            id = metadata.read(metadata.aggregateIdAccessor(), event);
         }
 
-        return id;
+        // Use event ID as last resort
+        return id != null ? id.toString() : event.getEventId();
     }
 
     public static String extractType(DomainEvent event) {
-        // Try to extract from class name (e.g., OrderCreatedEvent -> Order)
-        String className = event.getClass().getSimpleName();
-        if (className.endsWith("Event")) {
-            return className.substring(0, className.length() - "Event".length());
+        return METADATA.get(event.getClass()).aggregateType();
+    }
+
+    private record EventMetadata(MethodHandle idAccessor, MethodHandle aggregateIdAccessor, String aggregateType) {
+
+        static EventMetadata resolve(Class<?> eventClass) {
+            Field[] fields = eventClass.getDeclaredFields();
+
+            MethodHandle idAccessor = Arrays.stream(fields)
+                    .filter(field -> field.getName().toLowerCase().endsWith("id"))
+                    .findFirst()
+                    .map(AggregateReference::accessor)
+                    .orElse(null);
+
+            MethodHandle aggregateIdAccessor = Arrays.stream(fields)
+                    .filter(field -> field.isAnnotationPresent(AggregateId.class))
+                    .findFirst()
+                    .map(AggregateReference::accessor)
+                    .orElse(null);
+
+            return new EventMetadata(idAccessor, aggregateIdAccessor, resolveType(eventClass, fields));
+        }
+
+        private static String resolveType(Class<?> eventClass, Field[] fields) {
+            // Try to extract from class name (e.g., OrderCreatedEvent -> Order)
+            String className = eventClass.getSimpleName();
+            if (className.endsWith("Event")) {
+                return className.substring(0, className.length() - "Event".length());
+            }
+
+            // Fallback to any field that is an AggregateRoot
+            return Arrays.stream(fields)
+                    .filter(field -> AggregateRoot.class.isAssignableFrom(field.getType()))
+                    .findFirst()
+                    .map(Field::getType)
+                    .map(Class::getSimpleName)
+                    .orElse("Unknown");
         }
 
-        // Fallback to any field that is an AggregateRoot
-        return Arrays.stream(event.getClass().getDeclaredFields())
-                .filter(field -> AggregateRoot.class.isAssignableFrom(field.getType()))
-                .findFirst()
-                .map(Field::getType)
-                .map(Class::getSimpleName)
-                .orElse("Unknown");
+        Object read(MethodHandle accessor, DomainEvent event) {
+            if (accessor == null) {
+                return null;
+            }
+
+            try {
+                return accessor.invokeExact(event);
+            } catch (Throwable e) {
+                throw new RuntimeException("Could not read aggregate reference from: " + event.getClass().getName(), e);
+            }
+        }
     }
 
-    private static Object getFieldValue(Field field, Object target) {
+    private static MethodHandle accessor(Field field) {
         try {
             field.setAccessible(true);
-            return field.get(target);
+            return MethodHandles.lookup().unreflectGetter(field).asType(ACCESSOR_TYPE);
         } catch (IllegalAccessException e) {
             throw new RuntimeException("Could not access field: " + field.getName(), e);
         }
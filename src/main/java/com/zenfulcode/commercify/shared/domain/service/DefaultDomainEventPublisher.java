@@ -4,42 +4,33 @@ import com.zenfulcode.commercify.shared.domain.event.DomainEvent;
 import com.zenfulcode.commercify.shared.domain.event.DomainEventPublisher;
 import com.zenfulcode.commercify.shared.domain.event.DomainEventStore;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
-@Slf4j
 @Service
 @RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "commercify.events", name = "publish-mode", havingValue = "direct", matchIfMissing = true)
 public class DefaultDomainEventPublisher implements DomainEventPublisher {
     private final ApplicationEventPublisher eventPublisher;
     private final DomainEventStore eventStore;
 
+    // Same path as a batch, so a single event also joins the caller's transaction
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void publish(DomainEvent event) {
-        try {
-            log.info("Publishing event: {}", event.getEventType());
-
-            // Store the event
-            eventStore.store(event);
-
-            // Publish to Spring's event system
-            eventPublisher.publishEvent(event);
-
-            log.info("Successfully published event: {}", event.getEventType());
-        } catch (Exception e) {
-            log.error("Failed to publish event: {}", event.getEventType(), e);
-            throw e;
-        }
+        publish(List.of(event));
     }
 
     @Override
     public void publish(List<DomainEvent> events) {
-        events.forEach(this::publish);
+        if (events.isEmpty()) {
+            return;
+        }
+
+        // Store the whole batch with one write, then dispatch in order
+        eventStore.storeAll(events);
+        events.forEach(eventPublisher::publishEvent);
     }
 }
@@ -0,0 +1,48 @@
+package com.zenfulcode.commercify.shared.domain.valueobject;
+
+import com.zenfulcode.commercify.shared.domain.exception.InvalidPageCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Position in a listing ordered by (created_at DESC, id DESC). Clients only ever see the
+ * opaque token produced by {@link #encode()}.
+ */
+public record PageCursor(Instant createdAt, String id) {
+    // Sorts after every real row, so the first page uses the same seek query as later ones
+    private static final PageCursor START = new PageCursor(Instant.parse("9999-12-31T23:59:59Z"), "");
+
+    public PageCursor {
+        Objects.requireNonNull(createdAt, "createdAt is required");
+        Objects.requireNonNull(id, "id is required");
+    }
+
+    public static PageCursor start() {
+        return START;
+    }
+
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            return new PageCursor(
+                    Instant.ofEpochMilli(Long.parseLong(decoded.substring(0, separator))),
+                    decoded.substring(separator + 1)
+            );
+        } catch (RuntimeException e) {
+            throw new InvalidPageCursorException(token);
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt.toEpochMilli() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
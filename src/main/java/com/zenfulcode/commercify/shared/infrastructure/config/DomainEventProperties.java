@@ -0,0 +1,64 @@
+package com.zenfulcode.commercify.shared.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "commercify.events")
+public class DomainEventProperties {
+    /**
+     * DIRECT stores and dispatches every event synchronously in its own transaction.
+     * OUTBOX writes events in the caller's transaction and dispatches them after commit.
+     */
+    private PublishMode publishMode = PublishMode.DIRECT;
+
+    private final Outbox outbox = new Outbox();
+
+    private final Store store = new Store();
+
+    public enum PublishMode {
+        DIRECT,
+        OUTBOX
+    }
+
+    public enum StoreMode {
+        SYNC,
+        ASYNC_BATCHED,
+        DISABLED
+    }
+
+    @Setter
+    @Getter
+    public static class Outbox {
+        private int batchSize = 100;
+        private int dispatchThreads = 4;
+        private int dispatchQueueCapacity = 1000;
+        private long sweepIntervalMs = 5000;
+        // Rows younger than this are left to the in-memory dispatch started after commit
+        private Duration dispatchGracePeriod = Duration.ofSeconds(30);
+        // Swept events not marked within this, e.g. because the node died, are swept again
+        private Duration sweepLease = Duration.ofMinutes(5);
+    }
+
+    @Setter
+    @Getter
+    public static class Store {
+        private StoreMode mode = StoreMode.SYNC;
+        // Payload codec for new rows (json | smile); existing rows keep the codec they were written with
+        private String codec = "json";
+        // Per event type overrides, e.g. type-modes[GUEST_AUTHENTICATED]=disabled
+        private Map<String, StoreMode> typeModes = new HashMap<>();
+        private int batchSize = 200;
+        private int queueCapacity = 10000;
+        private long flushIntervalMs = 1000;
+        private int replayPageSize = 500;
+    }
+}
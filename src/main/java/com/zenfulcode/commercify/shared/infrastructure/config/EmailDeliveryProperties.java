@@ -0,0 +1,40 @@
+package com.zenfulcode.commercify.shared.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "commercify.mail.delivery")
+public class EmailDeliveryProperties {
+    private int workerThreads = 2;
+    // Messages sent over one SMTP connection
+    private int batchSize = 20;
+    private long pollIntervalMs = 1000;
+    // Claimed messages whose worker died become due again after this; must outlast the
+    // slowest batch, see minimumLease()
+    private Duration lease = Duration.ofMinutes(25);
+
+    private int maxAttempts = 8;
+    private Duration initialBackoff = Duration.ofSeconds(30);
+    private Duration maxBackoff = Duration.ofHours(1);
+
+    private Duration sentRetention = Duration.ofDays(7);
+
+    private Duration connectionTimeout = Duration.ofSeconds(10);
+    private Duration readTimeout = Duration.ofSeconds(30);
+    private Duration writeTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Longest a batch can legitimately take when every message runs into both timeouts.
+     * A shorter lease lets another worker claim and send a batch that is still going out.
+     */
+    public Duration minimumLease() {
+        return connectionTimeout.plus(readTimeout.plus(writeTimeout).multipliedBy(batchSize));
+    }
+}
@@ -0,0 +1,28 @@
+package com.zenfulcode.commercify.shared.infrastructure.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+public class EventDispatchConfig {
+    private final DomainEventProperties properties;
+
+    @Bean
+    public ThreadPoolTaskExecutor eventDispatchExecutor() {
+        DomainEventProperties.Outbox outbox = properties.getOutbox();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(outbox.getDispatchThreads());
+        executor.setMaxPoolSize(outbox.getDispatchThreads());
+        executor.setQueueCapacity(outbox.getDispatchQueueCapacity());
+        executor.setThreadNamePrefix("event-dispatch-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
@@ -0,0 +1,49 @@
+package com.zenfulcode.commercify.shared.infrastructure.config;
+
+import com.zenfulcode.commercify.auth.domain.event.UserAuthenticatedEvent;
+import com.zenfulcode.commercify.order.domain.event.OrderCreatedEvent;
+import com.zenfulcode.commercify.order.domain.event.OrderStatusChangedEvent;
+import com.zenfulcode.commercify.payment.domain.event.*;
+import com.zenfulcode.commercify.product.domain.event.*;
+import com.zenfulcode.commercify.shared.infrastructure.service.EventTypeResolver;
+import com.zenfulcode.commercify.user.domain.event.*;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Short, stable type tags stored in domain_events.event_type. Tags must never be reused;
+ * bump the schema version when an event's payload changes and register an upcaster.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class EventTypeRegistrationConfig {
+    private final EventTypeResolver eventTypeResolver;
+
+    @PostConstruct
+    public void registerEventTypes() {
+        eventTypeResolver.registerEventType("user.authenticated", UserAuthenticatedEvent.class);
+        eventTypeResolver.registerEventType("user.created", UserCreatedEvent.class);
+        eventTypeResolver.registerEventType("user.status", UserStatusChangedEvent.class);
+        eventTypeResolver.registerEventType("user.password", UserPasswordChangedEvent.class);
+        eventTypeResolver.registerEventType("user.roles", UserRolesChangedEvent.class);
+
+        eventTypeResolver.registerEventType("order.created", OrderCreatedEvent.class);
+        eventTypeResolver.registerEventType("order.status", OrderStatusChangedEvent.class);
+
+        eventTypeResolver.registerEventType("payment.created", PaymentCreatedEvent.class);
+        eventTypeResolver.registerEventType("payment.status", PaymentStatusChangedEvent.class);
+        eventTypeResolver.registerEventType("payment.reserved", PaymentReservedEvent.class);
+        eventTypeResolver.registerEventType("payment.captured", PaymentCapturedEvent.class);
+        eventTypeResolver.registerEventType("payment.cancelled", PaymentCancelledEvent.class);
+        eventTypeResolver.registerEventType("payment.failed", PaymentFailedEvent.class);
+        eventTypeResolver.registerEventType("payment.refunded", IssuedRefundEvent.class);
+
+        eventTypeResolver.registerEventType("product.created", ProductCreatedEvent.class);
+        eventTypeResolver.registerEventType("product.price", ProductPriceUpdatedEvent.class);
+        eventTypeResolver.registerEventType("product.status", ProductStatusChangedEvent.class);
+        eventTypeResolver.registerEventType("product.stock.low", LowStockEvent.class);
+        eventTypeResolver.registerEventType("product.stock.increase", LargeStockIncreaseEvent.class);
+        eventTypeResolver.registerEventType("product.stock.correction", StockCorrectionEvent.class);
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.Properties;
 
@@ -30,7 +31,7 @@ public class MailConfig {
     private boolean starttls;
 
     @Bean
-    public JavaMailSender javaMailSender() {
+    public JavaMailSender javaMailSender(EmailDeliveryProperties delivery) {
         JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
         mailSender.setHost(host);
         mailSender.setPort(port);
@@ -42,7 +43,27 @@ public class MailConfig {
         props.put("mail.smtp.auth", auth);
         props.put("mail.smtp.starttls.enable", starttls);
         props.put("mail.debug", "false"); // Set to true for debugging
+        // Without timeouts a stalled SMTP server holds a delivery worker forever
+        props.put("mail.smtp.connectiontimeout", String.valueOf(delivery.getConnectionTimeout().toMillis()));
+        props.put("mail.smtp.timeout", String.valueOf(delivery.getReadTimeout().toMillis()));
+        props.put("mail.smtp.writetimeout", String.valueOf(delivery.getWriteTimeout().toMillis()));
 
         return mailSender;
     }
+
+    /**
+     * Workers that drain the email outbox. There is no queue: a batch is only claimed
+     * when a worker is free to send it.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor emailDeliveryExecutor(EmailDeliveryProperties delivery) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(delivery.getWorkerThreads());
+        executor.setMaxPoolSize(delivery.getWorkerThreads());
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("email-delivery-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
 }
\ No newline at end of file
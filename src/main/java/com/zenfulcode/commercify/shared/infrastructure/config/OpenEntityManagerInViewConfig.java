@@ -0,0 +1,32 @@
+package com.zenfulcode.commercify.shared.infrastructure.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Replaces Spring Boot's open-in-view (disabled with spring.jpa.open-in-view=false) with
+ * one that skips the endpoints calling out to payment providers. In view, a request
+ * keeps the JDBC connection it first used until the response is written, which would pin
+ * a pooled connection for the whole provider round trip.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class OpenEntityManagerInViewConfig implements WebMvcConfigurer {
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+
+        registry.addWebRequestInterceptor(interceptor)
+                .excludePathPatterns(
+                        "/api/v2/payments/initiate",
+                        "/api/v2/payments/webhooks/**"
+                );
+    }
+}
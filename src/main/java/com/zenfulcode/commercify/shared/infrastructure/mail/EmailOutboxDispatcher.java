@@ -0,0 +1,206 @@
+package com.zenfulcode.commercify.shared.infrastructure.mail;
+
+import com.zenfulcode.commercify.shared.infrastructure.config.EmailDeliveryProperties;
+import com.zenfulcode.commercify.shared.infrastructure.persistence.JdbcEmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the email outbox on the email delivery workers.
+ * <p>
+ * Due messages are claimed in batches only while a worker is free, and a batch is sent
+ * over a single SMTP connection. Failed messages are retried with exponential backoff
+ * until {@code maxAttempts} is reached, after which they are left as FAILED. Delivery is
+ * at-least-once: a worker dying between the SMTP send and marking the batch as sent
+ * means the batch is sent again once its lease expires.
+ */
+@Slf4j
+@Component
+public class EmailOutboxDispatcher {
+    private final JdbcEmailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final ThreadPoolTaskExecutor executor;
+    private final TransactionTemplate transactionTemplate;
+    private final EmailDeliveryProperties config;
+
+    private final AtomicLong pending;
+    private final Timer batchTimer;
+    private final Timer latencyTimer;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+
+    public EmailOutboxDispatcher(
+            JdbcEmailOutboxRepository outboxRepository,
+            JavaMailSender mailSender,
+            @Qualifier("emailDeliveryExecutor") ThreadPoolTaskExecutor executor,
+            TransactionTemplate transactionTemplate,
+            EmailDeliveryProperties config,
+            MeterRegistry meterRegistry
+    ) {
+        if (config.getLease().compareTo(config.minimumLease()) <= 0) {
+            throw new IllegalStateException("commercify.mail.delivery.lease (" + config.getLease()
+                    + ") must exceed a worst-case batch of " + config.minimumLease()
+                    + "; raise the lease or lower the batch size or SMTP timeouts");
+        }
+
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.executor = executor;
+        this.transactionTemplate = transactionTemplate;
+        this.config = config;
+
+        this.pending = meterRegistry.gauge("commercify.email.outbox.pending", new AtomicLong());
+        this.batchTimer = meterRegistry.timer("commercify.email.delivery.batch");
+        // Time from queuing to the SMTP server accepting the message
+        this.latencyTimer = meterRegistry.timer("commercify.email.delivery.latency");
+        this.sentCounter = meterRegistry.counter("commercify.email.delivery", "result", "sent");
+        this.retriedCounter = meterRegistry.counter("commercify.email.delivery", "result", "retried");
+        this.failedCounter = meterRegistry.counter("commercify.email.delivery", "result", "failed");
+    }
+
+    @Scheduled(fixedDelayString = "${commercify.mail.delivery.poll-interval-ms:1000}")
+    public void poll() {
+        pending.set(outboxRepository.countPending());
+
+        while (executor.getActiveCount() < config.getWorkerThreads()) {
+            Instant leaseUntil = Instant.now().plus(config.getLease());
+            List<OutboundEmail> batch = transactionTemplate.execute(
+                    status -> outboxRepository.claimDue(config.getBatchSize(), leaseUntil));
+            if (batch == null || batch.isEmpty()) {
+                return;
+            }
+
+            try {
+                executor.execute(() -> deliver(batch));
+            } catch (TaskRejectedException e) {
+                // All workers turned busy in the meantime
+                outboxRepository.release(batch.stream().map(OutboundEmail::id).toList());
+                return;
+            }
+
+            if (batch.size() < config.getBatchSize()) {
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 3600000, initialDelay = 60000)
+    public void purgeSent() {
+        int purged = outboxRepository.deleteSentBefore(Instant.now().minus(config.getSentRetention()));
+        if (purged > 0) {
+            log.info("Purged {} sent emails from the outbox", purged);
+        }
+    }
+
+    private void deliver(List<OutboundEmail> batch) {
+        Map<MimeMessage, OutboundEmail> messages = new IdentityHashMap<>(batch.size());
+        for (OutboundEmail email : batch) {
+            try {
+                messages.put(toMimeMessage(email), email);
+            } catch (MessagingException e) {
+                // A message that cannot be built will not build on retry either
+                log.error("Dropping malformed email: {}", email.id(), e);
+                outboxRepository.markFailed(email.id(), e.getMessage());
+                failedCounter.increment();
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        Map<Object, Exception> failures = batchTimer.record(() -> send(messages));
+
+        List<String> sent = new ArrayList<>(messages.size());
+        Instant now = Instant.now();
+        messages.forEach((message, email) -> {
+            Exception failure = failures.get(message);
+            if (failure == null) {
+                sent.add(email.id());
+                latencyTimer.record(Duration.between(email.createdAt(), now));
+            } else {
+                retryOrFail(email, failure);
+            }
+        });
+
+        outboxRepository.markSent(sent);
+        sentCounter.increment(sent.size());
+    }
+
+    /**
+     * Sends the messages over one connection and returns the ones that failed.
+     */
+    private Map<Object, Exception> send(Map<MimeMessage, OutboundEmail> messages) {
+        try {
+            mailSender.send(messages.keySet().toArray(MimeMessage[]::new));
+            return Map.of();
+        } catch (MailSendException e) {
+            if (!e.getFailedMessages().isEmpty()) {
+                return e.getFailedMessages();
+            }
+            return failAll(messages, e);
+        } catch (MailException e) {
+            // Connection or authentication failure, nothing went out
+            return failAll(messages, e);
+        }
+    }
+
+    private void retryOrFail(OutboundEmail email, Exception failure) {
+        // attempts was incremented when the message was claimed
+        int attempt = email.attempts() + 1;
+        if (attempt >= config.getMaxAttempts()) {
+            log.error("Giving up on email {} after {} attempts", email.id(), attempt, failure);
+            outboxRepository.markFailed(email.id(), failure.getMessage());
+            failedCounter.increment();
+            return;
+        }
+
+        log.warn("Failed to send email {} (attempt {}): {}", email.id(), attempt, failure.getMessage());
+        outboxRepository.scheduleRetry(email.id(), Instant.now().plus(backoff(attempt)), failure.getMessage());
+        retriedCounter.increment();
+    }
+
+    private Duration backoff(int attempt) {
+        Duration delay = config.getInitialBackoff().multipliedBy(1L << Math.min(attempt - 1, 20));
+        return delay.compareTo(config.getMaxBackoff()) > 0 ? config.getMaxBackoff() : delay;
+    }
+
+    private MimeMessage toMimeMessage(OutboundEmail email) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+
+        helper.setTo(email.recipient());
+        helper.setSubject(email.subject());
+        helper.setText(email.body(), email.html());
+
+        return mimeMessage;
+    }
+
+    private static Map<Object, Exception> failAll(Map<MimeMessage, OutboundEmail> messages, Exception failure) {
+        Map<Object, Exception> failures = new IdentityHashMap<>(messages.size());
+        messages.keySet().forEach(message -> failures.put(message, failure));
+        return failures;
+    }
+}
@@ -0,0 +1,17 @@
+package com.zenfulcode.commercify.shared.infrastructure.mail;
+
+import java.time.Instant;
+
+/**
+ * A row of the email outbox as claimed by a delivery worker.
+ */
+public record OutboundEmail(
+        String id,
+        String recipient,
+        String subject,
+        String body,
+        boolean html,
+        int attempts,
+        Instant createdAt
+) {
+}
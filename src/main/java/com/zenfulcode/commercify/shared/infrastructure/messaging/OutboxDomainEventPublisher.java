@@ -0,0 +1,52 @@
+package com.zenfulcode.commercify.shared.infrastructure.messaging;
+
+import com.zenfulcode.commercify.shared.domain.event.DomainEvent;
+import com.zenfulcode.commercify.shared.domain.event.DomainEventPublisher;
+import com.zenfulcode.commercify.shared.infrastructure.persistence.JpaDomainEventStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Transactional outbox publisher. Events are written in the caller's transaction
+ * and only handed to listeners once that transaction has committed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "commercify.events", name = "publish-mode", havingValue = "outbox")
+public class OutboxDomainEventPublisher implements DomainEventPublisher {
+    private final JpaDomainEventStore eventStore;
+    private final OutboxEventDispatcher dispatcher;
+
+    @Override
+    @Transactional
+    public void publish(DomainEvent event) {
+        publish(List.of(event));
+    }
+
+    @Override
+    @Transactional
+    public void publish(List<DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        List<DomainEvent> appended = eventStore.appendToOutbox(events);
+        log.debug("Wrote {} of {} events to the outbox", appended.size(), events.size());
+
+        List<DomainEvent> pending = List.copyOf(events);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatcher.dispatch(pending);
+            }
+        });
+    }
+}
@@ -0,0 +1,121 @@
+package com.zenfulcode.commercify.shared.infrastructure.messaging;
+
+import com.zenfulcode.commercify.shared.domain.event.DomainEvent;
+import com.zenfulcode.commercify.shared.domain.model.StoredEvent;
+import com.zenfulcode.commercify.shared.infrastructure.config.DomainEventProperties;
+import com.zenfulcode.commercify.shared.infrastructure.persistence.JdbcEventStoreRepository;
+import com.zenfulcode.commercify.shared.infrastructure.service.EventSerializer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hands committed outbox events to the application listeners off the request thread.
+ * <p>
+ * Events are dispatched from memory right after the publishing transaction commits. The
+ * periodic sweep drains rows that were never marked as dispatched (crash, rejected task)
+ * from the domain_events table in batches, so delivery is at-least-once. A batch is
+ * claimed with a lease in one short transaction and marked in another; the listeners run
+ * in between, outside any transaction, so a failing listener cannot roll back the batch.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "commercify.events", name = "publish-mode", havingValue = "outbox")
+public class OutboxEventDispatcher {
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcEventStoreRepository outboxRepository;
+    private final EventSerializer eventSerializer;
+    private final ThreadPoolTaskExecutor executor;
+    private final TransactionTemplate transactionTemplate;
+    private final DomainEventProperties.Outbox config;
+
+    public OutboxEventDispatcher(
+            ApplicationEventPublisher eventPublisher,
+            JdbcEventStoreRepository outboxRepository,
+            EventSerializer eventSerializer,
+            @Qualifier("eventDispatchExecutor") ThreadPoolTaskExecutor executor,
+            TransactionTemplate transactionTemplate,
+            DomainEventProperties properties
+    ) {
+        this.eventPublisher = eventPublisher;
+        this.outboxRepository = outboxRepository;
+        this.eventSerializer = eventSerializer;
+        this.executor = executor;
+        this.transactionTemplate = transactionTemplate;
+        this.config = properties.getOutbox();
+    }
+
+    public void dispatch(List<DomainEvent> events) {
+        try {
+            executor.execute(() -> {
+                List<String> dispatched = deliver(events);
+                transactionTemplate.executeWithoutResult(status -> outboxRepository.markDispatched(dispatched));
+            });
+        } catch (TaskRejectedException e) {
+            // The rows stay undispatched and are picked up by the next sweep
+            log.warn("Event dispatch queue is full, deferring {} events to the outbox sweep", events.size());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${commercify.events.outbox.sweep-interval-ms:5000}")
+    public void sweep() {
+        Instant cutoff = Instant.now().minus(config.getDispatchGracePeriod());
+
+        int drained;
+        do {
+            drained = drainBatch(cutoff);
+        } while (drained == config.getBatchSize());
+    }
+
+    private int drainBatch(Instant cutoff) {
+        Instant leaseUntil = Instant.now().plus(config.getSweepLease());
+        List<StoredEvent> batch = transactionTemplate.execute(
+                status -> outboxRepository.claimUndispatched(cutoff, config.getBatchSize(), leaseUntil));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        log.info("Draining {} undispatched events from the outbox", batch.size());
+
+        List<DomainEvent> events = new ArrayList<>(batch.size());
+        List<String> undeliverable = new ArrayList<>();
+        for (StoredEvent storedEvent : batch) {
+            try {
+                events.add(eventSerializer.deserialize(storedEvent));
+            } catch (Exception e) {
+                // Marked as dispatched so a single bad row cannot block the outbox
+                log.error("Dropping undeliverable outbox event: {}", storedEvent.getEventId(), e);
+                undeliverable.add(storedEvent.getEventId());
+            }
+        }
+
+        List<String> dispatched = deliver(events);
+        dispatched.addAll(undeliverable);
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.markDispatched(dispatched));
+
+        return batch.size();
+    }
+
+    private List<String> deliver(List<DomainEvent> events) {
+        List<String> dispatched = new ArrayList<>(events.size());
+        for (DomainEvent event : events) {
+            try {
+                eventPublisher.publishEvent(event);
+            } catch (Exception e) {
+                log.error("Listener failed for event: {}", event.getEventType(), e);
+            }
+            dispatched.add(event.getEventId());
+        }
+        return dispatched;
+    }
+}
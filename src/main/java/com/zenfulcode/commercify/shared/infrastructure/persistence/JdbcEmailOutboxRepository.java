@@ -0,0 +1,156 @@
+package com.zenfulcode.commercify.shared.infrastructure.persistence;
+
+import com.zenfulcode.commercify.shared.infrastructure.mail.OutboundEmail;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Plain JDBC access to the email_outbox table. A message is due while it is PENDING and
+ * its next_attempt_at has passed; claiming pushes next_attempt_at out by a lease, so a
+ * message whose worker died is picked up again once the lease runs out.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcEmailOutboxRepository {
+    private static final String PENDING = "PENDING";
+    private static final String SENT = "SENT";
+    private static final String FAILED = "FAILED";
+
+    // Duplicate dedup keys are skipped, so redelivered events do not send twice
+    private static final String INSERT = """
+            INSERT IGNORE INTO email_outbox
+                (id, dedup_key, recipient, subject, body, html, status, attempts, next_attempt_at, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, 'PENDING', 0, ?, ?)
+            """;
+
+    private static final String SELECT_DUE = """
+            SELECT id, recipient, subject, body, html, attempts, created_at
+            FROM email_outbox
+            WHERE status = 'PENDING' AND next_attempt_at <= ?
+            ORDER BY next_attempt_at
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final RowMapper<OutboundEmail> OUTBOUND_EMAIL_MAPPER = (rs, rowNum) -> new OutboundEmail(
+            rs.getString("id"),
+            rs.getString("recipient"),
+            rs.getString("subject"),
+            rs.getString("body"),
+            rs.getBoolean("html"),
+            rs.getInt("attempts"),
+            rs.getTimestamp("created_at").toInstant()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return false when a message with the same dedup key was queued before
+     */
+    public boolean enqueue(String dedupKey, String recipient, String subject, String body, boolean html) {
+        Timestamp now = Timestamp.from(Instant.now());
+        return jdbcTemplate.update(INSERT,
+                UUID.randomUUID().toString(), dedupKey, recipient, subject, body, html, now, now) > 0;
+    }
+
+    /**
+     * Locks due messages and leases them until the given time. Must be called inside a
+     * transaction; rows claimed by another node are skipped.
+     */
+    public List<OutboundEmail> claimDue(int limit, Instant leaseUntil) {
+        List<OutboundEmail> due = jdbcTemplate.query(SELECT_DUE, OUTBOUND_EMAIL_MAPPER, Timestamp.from(Instant.now()), limit);
+        if (due.isEmpty()) {
+            return due;
+        }
+
+        List<Object> args = new ArrayList<>(due.size() + 1);
+        args.add(Timestamp.from(leaseUntil));
+        due.forEach(email -> args.add(email.id()));
+        jdbcTemplate.update(
+                "UPDATE email_outbox SET attempts = attempts + 1, next_attempt_at = ? WHERE id IN (" + placeholders(due.size()) + ")",
+                args.toArray()
+        );
+
+        return due;
+    }
+
+    /**
+     * Makes claimed messages due again without counting the attempt, e.g. when no worker
+     * could take them.
+     */
+    public void release(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        List<Object> args = new ArrayList<>(ids.size() + 1);
+        args.add(Timestamp.from(Instant.now()));
+        args.addAll(ids);
+        jdbcTemplate.update(
+                "UPDATE email_outbox SET attempts = attempts - 1, next_attempt_at = ? WHERE id IN (" + placeholders(ids.size()) + ")",
+                args.toArray()
+        );
+    }
+
+    public void markSent(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        List<Object> args = new ArrayList<>(ids.size() + 2);
+        args.add(SENT);
+        args.add(Timestamp.from(Instant.now()));
+        args.addAll(ids);
+        jdbcTemplate.update(
+                "UPDATE email_outbox SET status = ?, sent_at = ?, last_error = NULL WHERE id IN (" + placeholders(ids.size()) + ")",
+                args.toArray()
+        );
+    }
+
+    public void scheduleRetry(String id, Instant nextAttemptAt, String error) {
+        jdbcTemplate.update(
+                "UPDATE email_outbox SET status = ?, next_attempt_at = ?, last_error = ? WHERE id = ?",
+                PENDING, Timestamp.from(nextAttemptAt), truncate(error), id
+        );
+    }
+
+    public void markFailed(String id, String error) {
+        jdbcTemplate.update(
+                "UPDATE email_outbox SET status = ?, last_error = ? WHERE id = ?",
+                FAILED, truncate(error), id
+        );
+    }
+
+    public long countPending() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM email_outbox WHERE status = 'PENDING'", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    public int deleteSentBefore(Instant cutoff) {
+        return jdbcTemplate.update(
+                "DELETE FROM email_outbox WHERE status = 'SENT' AND sent_at < ?",
+                Timestamp.from(cutoff)
+        );
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= 1000) {
+            return error;
+        }
+        return error.substring(0, 1000);
+    }
+}
@@ -0,0 +1,155 @@
+package com.zenfulcode.commercify.shared.infrastructure.persistence;
+
+import com.zenfulcode.commercify.shared.domain.model.StoredEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Plain JDBC write access to the domain_events table, used by the event store and the
+ * transactional outbox. Runs on the connection bound to the current JPA transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcEventStoreRepository {
+    // Duplicate event ids are skipped instead of failing the batch
+    private static final String INSERT_PREFIX = """
+            INSERT IGNORE INTO domain_events
+                (event_id, event_type, event_data, payload_codec, schema_version, occurred_on,
+                 aggregate_id, aggregate_type, dispatched_at)
+            VALUES\s""";
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_UNDISPATCHED = """
+            SELECT event_id, event_type, event_data, payload_codec, schema_version, occurred_on,
+                   aggregate_id, aggregate_type
+            FROM domain_events
+            WHERE dispatched_at IS NULL AND occurred_on < ?
+              AND (dispatch_lease_until IS NULL OR dispatch_lease_until < ?)
+            ORDER BY occurred_on
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    // Keyset pagination over (occurred_on, event_id), served by idx_domain_events_replay
+    private static final String SELECT_PAGE = """
+            SELECT event_id, event_type, event_data, payload_codec, schema_version, occurred_on,
+                   aggregate_id, aggregate_type
+            FROM domain_events
+            WHERE (occurred_on > ? OR (occurred_on = ? AND event_id > ?))
+            %s
+            ORDER BY occurred_on, event_id
+            LIMIT ?
+            """;
+
+    private static final RowMapper<StoredEvent> STORED_EVENT_MAPPER = (rs, rowNum) -> new StoredEvent(
+            rs.getString("event_id"),
+            rs.getString("event_type"),
+            rs.getBytes("event_data"),
+            rs.getString("payload_codec"),
+            rs.getInt("schema_version"),
+            rs.getTimestamp("occurred_on").toInstant(),
+            rs.getString("aggregate_id"),
+            rs.getString("aggregate_type")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Writes all events with a single multi-row INSERT.
+     *
+     * @return the number of rows actually inserted; events whose id already exists are skipped
+     */
+    public int insertAll(List<StoredEvent> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        String sql = INSERT_PREFIX + String.join(", ", Collections.nCopies(events.size(), INSERT_ROW));
+
+        List<Object> args = new ArrayList<>(events.size() * 9);
+        for (StoredEvent event : events) {
+            args.add(event.getEventId());
+            args.add(event.getEventType());
+            args.add(event.getEventData());
+            args.add(event.getPayloadCodec());
+            args.add(event.getSchemaVersion());
+            args.add(Timestamp.from(event.getOccurredOn()));
+            args.add(event.getAggregateId());
+            args.add(event.getAggregateType());
+            args.add(event.getDispatchedAt() == null ? null : Timestamp.from(event.getDispatchedAt()));
+        }
+
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+
+    /**
+     * Locks the oldest undispatched events and leases them until the given time, so the
+     * caller can deliver them after committing. Must be called inside a transaction; rows
+     * locked by another node, or still leased, are skipped.
+     */
+    public List<StoredEvent> claimUndispatched(Instant occurredBefore, int limit, Instant leaseUntil) {
+        List<StoredEvent> claimed = jdbcTemplate.query(SELECT_UNDISPATCHED, STORED_EVENT_MAPPER,
+                Timestamp.from(occurredBefore), Timestamp.from(Instant.now()), limit);
+        if (claimed.isEmpty()) {
+            return claimed;
+        }
+
+        List<Object> args = new ArrayList<>(claimed.size() + 1);
+        args.add(Timestamp.from(leaseUntil));
+        claimed.forEach(event -> args.add(event.getEventId()));
+        jdbcTemplate.update(
+                "UPDATE domain_events SET dispatch_lease_until = ? WHERE event_id IN ("
+                        + String.join(", ", Collections.nCopies(claimed.size(), "?")) + ")",
+                args.toArray()
+        );
+
+        return claimed;
+    }
+
+    /**
+     * Returns the next page of events strictly after the given position.
+     * A null event type matches every event type.
+     */
+    public List<StoredEvent> findPageAfter(Instant occurredOn, String eventId, String eventType, int limit) {
+        List<Object> args = new ArrayList<>(5);
+        Timestamp position = Timestamp.from(occurredOn);
+        args.add(position);
+        args.add(position);
+        args.add(eventId);
+
+        // A single type keeps the page a range scan of idx_domain_events_type_replay without a filesort
+        String typeFilter = "";
+        if (eventType != null) {
+            typeFilter = "AND event_type = ?";
+            args.add(eventType);
+        }
+        args.add(limit);
+
+        return jdbcTemplate.query(SELECT_PAGE.formatted(typeFilter), STORED_EVENT_MAPPER, args.toArray());
+    }
+
+    public void markDispatched(Collection<String> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(eventIds.size(), "?"));
+        List<Object> args = new ArrayList<>(eventIds.size() + 1);
+        args.add(Timestamp.from(Instant.now()));
+        args.addAll(eventIds);
+
+        jdbcTemplate.update(
+                "UPDATE domain_events SET dispatched_at = ? WHERE event_id IN (" + placeholders + ")",
+                args.toArray()
+        );
+    }
+}
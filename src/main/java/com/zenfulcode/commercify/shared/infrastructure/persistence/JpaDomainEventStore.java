@@ -2,36 +2,139 @@ package com.zenfulcode.commercify.shared.infrastructure.persistence;
 
 import com.zenfulcode.commercify.shared.domain.event.DomainEvent;
 import com.zenfulcode.commercify.shared.domain.event.DomainEventStore;
+import com.zenfulcode.commercify.shared.domain.event.ReplayCheckpoint;
+import com.zenfulcode.commercify.shared.domain.event.ReplayedEvent;
 import com.zenfulcode.commercify.shared.domain.model.StoredEvent;
+import com.zenfulcode.commercify.shared.infrastructure.config.DomainEventProperties;
+import com.zenfulcode.commercify.shared.infrastructure.config.DomainEventProperties.StoreMode;
 import com.zenfulcode.commercify.shared.infrastructure.service.EventSerializer;
-import lombok.RequiredArgsConstructor;
-import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
+import com.zenfulcode.commercify.shared.infrastructure.service.EventTypeResolver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+/**
+ * Single persistence path for domain events. Every write goes through an idempotent
+ * multi-row insert, so storing an event twice is counted as deduplicated instead of failing.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class JpaDomainEventStore implements DomainEventStore {
     private final EventStoreRepository repository;
+    private final JdbcEventStoreRepository jdbcRepository;
     private final EventSerializer eventSerializer;
+    private final EventTypeResolver eventTypeResolver;
+    private final TransactionTemplate transactionTemplate;
+    private final DomainEventProperties.Store config;
+    private final Map<String, StoreMode> typeModes;
+    private final BlockingQueue<StoredEvent> pendingWrites;
 
-    @Async
-    @EventListener
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void handleDomainEvent(DomainEvent event) {
-        store(event);
+    private final Counter storedCounter;
+    private final Counter deduplicatedCounter;
+    private final Counter failedCounter;
+
+    public JpaDomainEventStore(
+            EventStoreRepository repository,
+            JdbcEventStoreRepository jdbcRepository,
+            EventSerializer eventSerializer,
+            EventTypeResolver eventTypeResolver,
+            TransactionTemplate transactionTemplate,
+            DomainEventProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.repository = repository;
+        this.jdbcRepository = jdbcRepository;
+        this.eventSerializer = eventSerializer;
+        this.eventTypeResolver = eventTypeResolver;
+        this.transactionTemplate = transactionTemplate;
+        this.config = properties.getStore();
+        this.typeModes = config.getTypeModes().entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(e -> e.getKey().toUpperCase(Locale.ROOT), Map.Entry::getValue));
+        this.pendingWrites = new LinkedBlockingQueue<>(config.getQueueCapacity());
+
+        this.storedCounter = meterRegistry.counter("commercify.events.store", "result", "stored");
+        this.deduplicatedCounter = meterRegistry.counter("commercify.events.store", "result", "deduplicated");
+        this.failedCounter = meterRegistry.counter("commercify.events.store", "result", "failed");
+        meterRegistry.gaugeCollectionSize("commercify.events.store.pending", Tags.empty(), pendingWrites);
     }
 
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional
     public void store(DomainEvent event) {
-        StoredEvent storedEvent = eventSerializer.serialize(event);
-        repository.save(storedEvent);
+        storeAll(List.of(event));
+    }
+
+    @Override
+    @Transactional
+    public void storeAll(List<DomainEvent> events) {
+        List<StoredEvent> syncWrites = new ArrayList<>(events.size());
+
+        for (DomainEvent event : events) {
+            StoreMode mode = storeModeFor(event);
+            if (mode == StoreMode.DISABLED) {
+                continue;
+            }
+
+            StoredEvent storedEvent = eventSerializer.serialize(event);
+            // Events stored here are dispatched synchronously, keep them out of the outbox sweep
+            storedEvent.setDispatchedAt(storedEvent.getOccurredOn());
+
+            if (mode == StoreMode.ASYNC_BATCHED && pendingWrites.offer(storedEvent)) {
+                continue;
+            }
+            // Sync mode, or the async queue is full and the caller takes the write itself
+            syncWrites.add(storedEvent);
+        }
+
+        write(syncWrites);
+    }
+
+    /**
+     * Appends events to the outbox in the caller's transaction, leaving them undispatched.
+     *
+     * @return the events that were written; events with a disabled store mode are skipped
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<DomainEvent> appendToOutbox(List<DomainEvent> events) {
+        List<DomainEvent> appended = events.stream()
+                .filter(event -> storeModeFor(event) != StoreMode.DISABLED)
+                .toList();
+
+        write(appended.stream().map(eventSerializer::serialize).toList());
+        return appended;
+    }
+
+    @Scheduled(fixedDelayString = "${commercify.events.store.flush-interval-ms:1000}")
+    public void flushPendingWrites() {
+        List<StoredEvent> batch = new ArrayList<>(config.getBatchSize());
+        while (pendingWrites.drainTo(batch, config.getBatchSize()) > 0) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(batch));
+            } catch (Exception e) {
+                log.error("Failed to flush {} domain events", batch.size(), e);
+            }
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushPendingWrites();
     }
 
     @Override
@@ -43,6 +146,10 @@ public class JpaDomainEventStore implements DomainEventStore {
                 .toList();
     }
 
+    /**
+     * Loads every event since the given instant into memory. Prefer {@link #replay} for
+     * anything that is not bounded to a small window.
+     */
     @Transactional(readOnly = true)
     public List<DomainEvent> getEventsSince(Instant since) {
         return repository.findEventsSince(since)
@@ -50,4 +157,142 @@ public class JpaDomainEventStore implements DomainEventStore {
                 .map(eventSerializer::deserialize)
                 .toList();
     }
+
+    @Override
+    public Stream<ReplayedEvent> replay(ReplayCheckpoint from, Collection<Class<? extends DomainEvent>> eventTypes) {
+        Set<String> storedTypes = new LinkedHashSet<>();
+        for (Class<? extends DomainEvent> eventType : eventTypes) {
+            storedTypes.add(eventTypeResolver.resolveEventType(eventType));
+            // Rows written before type tags were registered carry the class name
+            storedTypes.add(eventType.getName());
+        }
+
+        // One cursor per stored type name keeps every page a single-equality range scan,
+        // the cursors are merged back into (occurred_on, event_id) order
+        int pageSize = config.getReplayPageSize();
+        Iterator<StoredEvent> events = storedTypes.isEmpty()
+                ? new KeysetReplayIterator(from, null, pageSize)
+                : new MergedReplayIterator(storedTypes.stream()
+                        .map(type -> new KeysetReplayIterator(from, type, pageSize))
+                        .toList());
+
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(events, Spliterator.ORDERED | Spliterator.NONNULL),
+                false
+        ).map(this::toReplayedEvent);
+    }
+
+    private ReplayedEvent toReplayedEvent(StoredEvent storedEvent) {
+        return new ReplayedEvent(
+                storedEvent.getEventType(),
+                new ReplayCheckpoint(storedEvent.getOccurredOn(), storedEvent.getEventId()),
+                () -> eventSerializer.deserialize(storedEvent)
+        );
+    }
+
+    private void write(List<StoredEvent> storedEvents) {
+        if (storedEvents.isEmpty()) {
+            return;
+        }
+
+        try {
+            int inserted = jdbcRepository.insertAll(storedEvents);
+            storedCounter.increment(inserted);
+            deduplicatedCounter.increment(storedEvents.size() - inserted);
+        } catch (RuntimeException e) {
+            failedCounter.increment(storedEvents.size());
+            throw e;
+        }
+    }
+
+    private StoreMode storeModeFor(DomainEvent event) {
+        return typeModes.getOrDefault(event.getEventType(), config.getMode());
+    }
+
+    /**
+     * Fetches one page at a time, each in its own short query, so replay memory is bounded
+     * by the page size and no connection is held while the consumer processes events.
+     */
+    private class KeysetReplayIterator implements Iterator<StoredEvent> {
+        private final String eventType;
+        private final int pageSize;
+        private ReplayCheckpoint position;
+        private Iterator<StoredEvent> page = Collections.emptyIterator();
+        private boolean exhausted;
+
+        KeysetReplayIterator(ReplayCheckpoint from, String eventType, int pageSize) {
+            this.position = from;
+            this.eventType = eventType;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!page.hasNext() && !exhausted) {
+                List<StoredEvent> next = jdbcRepository.findPageAfter(
+                        position.occurredOn(), position.eventId(), eventType, pageSize);
+                exhausted = next.size() < pageSize;
+                page = next.iterator();
+            }
+            return page.hasNext();
+        }
+
+        @Override
+        public StoredEvent next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            StoredEvent storedEvent = page.next();
+            position = new ReplayCheckpoint(storedEvent.getOccurredOn(), storedEvent.getEventId());
+            return storedEvent;
+        }
+    }
+
+    /**
+     * Merges cursors that are each in replay order into one cursor in replay order.
+     */
+    private static class MergedReplayIterator implements Iterator<StoredEvent> {
+        private static final Comparator<StoredEvent> REPLAY_ORDER = Comparator
+                .comparing(StoredEvent::getOccurredOn)
+                .thenComparing(StoredEvent::getEventId);
+
+        private final List<? extends Iterator<StoredEvent>> cursors;
+        private final PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparing(Head::event, REPLAY_ORDER));
+        private boolean started;
+
+        MergedReplayIterator(List<? extends Iterator<StoredEvent>> cursors) {
+            this.cursors = cursors;
+        }
+
+        @Override
+        public boolean hasNext() {
+            // The first pages are only fetched once the stream is consumed
+            if (!started) {
+                cursors.forEach(this::advance);
+                started = true;
+            }
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public StoredEvent next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            Head head = heads.poll();
+            advance(head.cursor());
+            return head.event();
+        }
+
+        private void advance(Iterator<StoredEvent> cursor) {
+            if (cursor.hasNext()) {
+                heads.add(new Head(cursor.next(), cursor));
+            }
+        }
+
+        private record Head(StoredEvent event, Iterator<StoredEvent> cursor) {
+        }
+    }
 }
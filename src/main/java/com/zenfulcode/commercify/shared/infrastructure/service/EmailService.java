@@ -1,27 +1,27 @@
 package com.zenfulcode.commercify.shared.infrastructure.service;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import com.zenfulcode.commercify.shared.infrastructure.persistence.JdbcEmailOutboxRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+/**
+ * Queues emails in the email_outbox table; delivery happens later on the email delivery
+ * workers. Queuing inside a business transaction makes the email part of it.
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class EmailService {
-    private final JavaMailSender mailSender;
+    private final JdbcEmailOutboxRepository outboxRepository;
 
-    public void sendEmail(String to, String subject, String content, boolean isHtml) throws MessagingException {
-        MimeMessage mimeMessage = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
-
-        helper.setTo(to);
-        helper.setSubject(subject);
-        helper.setText(content, isHtml);
-
-        mailSender.send(mimeMessage);
+    /**
+     * @param dedupKey identifies the notification, so handling the same event twice queues
+     *                 one email; null disables deduplication
+     */
+    public void queueEmail(String dedupKey, String to, String subject, String content, boolean isHtml) {
+        if (!outboxRepository.enqueue(dedupKey, to, subject, content, isHtml)) {
+            log.info("Email {} was already queued, skipping", dedupKey);
+        }
     }
-}
\ No newline at end of file
+}
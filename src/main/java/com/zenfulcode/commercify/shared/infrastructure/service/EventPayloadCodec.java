@@ -0,0 +1,40 @@
+package com.zenfulcode.commercify.shared.infrastructure.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+/**
+ * Encodes event payloads for the domain_events table. The codec name is stored next to
+ * each row, so payloads written with different codecs can be read side by side.
+ */
+public abstract class EventPayloadCodec {
+    private final String name;
+    private final ObjectMapper mapper;
+
+    protected EventPayloadCodec(String name, ObjectMapper mapper) {
+        this.name = name;
+        this.mapper = mapper;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public byte[] encode(Object payload) throws IOException {
+        return mapper.writeValueAsBytes(payload);
+    }
+
+    public <T> T decode(byte[] data, Class<T> type) throws IOException {
+        return mapper.readValue(data, type);
+    }
+
+    public JsonNode decodeTree(byte[] data) throws IOException {
+        return mapper.readTree(data);
+    }
+
+    public <T> T treeToValue(JsonNode tree, Class<T> type) throws IOException {
+        return mapper.treeToValue(tree, type);
+    }
+}
@@ -1,28 +1,56 @@
 package com.zenfulcode.commercify.shared.infrastructure.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.zenfulcode.commercify.shared.domain.event.DomainEvent;
 import com.zenfulcode.commercify.shared.domain.exception.EventDeserializationException;
 import com.zenfulcode.commercify.shared.domain.exception.EventSerializationException;
 import com.zenfulcode.commercify.shared.domain.model.StoredEvent;
 import com.zenfulcode.commercify.shared.domain.service.AggregateReference;
-import lombok.RequiredArgsConstructor;
+import com.zenfulcode.commercify.shared.infrastructure.config.DomainEventProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Component
-@RequiredArgsConstructor
 public class EventSerializer {
-    private final ObjectMapper objectMapper;
     private final EventTypeResolver eventTypeResolver;
+    private final Map<String, EventPayloadCodec> codecs;
+    private final EventPayloadCodec writeCodec;
+    private final Map<String, EventUpcaster> upcasters;
+
+    public EventSerializer(
+            EventTypeResolver eventTypeResolver,
+            List<EventPayloadCodec> codecs,
+            List<EventUpcaster> upcasters,
+            DomainEventProperties properties
+    ) {
+        this.eventTypeResolver = eventTypeResolver;
+        this.codecs = codecs.stream()
+                .collect(Collectors.toUnmodifiableMap(EventPayloadCodec::name, Function.identity()));
+        this.upcasters = upcasters.stream()
+                .collect(Collectors.toUnmodifiableMap(u -> upcasterKey(u.eventType(), u.fromVersion()), Function.identity()));
+
+        String codecName = properties.getStore().getCodec();
+        this.writeCodec = this.codecs.get(codecName);
+        if (writeCodec == null) {
+            throw new IllegalStateException("Unknown event payload codec: " + codecName);
+        }
+    }
 
     public StoredEvent serialize(DomainEvent event) {
         try {
-            String eventData = objectMapper.writeValueAsString(event);
+            byte[] eventData = writeCodec.encode(event);
 
             return new StoredEvent(
                     event.getEventId(),
-                    event.getClass().getName(),
+                    eventTypeResolver.resolveEventType(event.getClass()),
                     eventData,
+                    writeCodec.name(),
+                    eventTypeResolver.resolveSchemaVersion(event.getClass()),
                     event.getOccurredOn(),
                     extractAggregateId(event),
                     extractAggregateType(event)
@@ -34,14 +62,52 @@ public class EventSerializer {
 
     public DomainEvent deserialize(StoredEvent storedEvent) {
         try {
-            Class<?> eventClass = eventTypeResolver.resolveEventClass(storedEvent.getEventType());
-            return (DomainEvent) objectMapper.readValue(storedEvent.getEventData(), eventClass);
+            Class<? extends DomainEvent> eventClass = eventTypeResolver.resolveEventClass(storedEvent.getEventType());
+            EventPayloadCodec codec = codecFor(storedEvent);
+
+            int currentVersion = eventTypeResolver.resolveSchemaVersion(eventClass);
+            if (storedEvent.getSchemaVersion() >= currentVersion) {
+                return codec.decode(storedEvent.getEventData(), eventClass);
+            }
+
+            JsonNode payload = upcast(
+                    eventTypeResolver.resolveEventType(eventClass),
+                    codec.decodeTree(storedEvent.getEventData()),
+                    storedEvent.getSchemaVersion(),
+                    currentVersion
+            );
+            return codec.treeToValue(payload, eventClass);
         } catch (Exception e) {
             throw new EventDeserializationException(
                     "Failed to deserialize event: " + storedEvent.getEventType(), e);
         }
     }
 
+    private EventPayloadCodec codecFor(StoredEvent storedEvent) {
+        EventPayloadCodec codec = codecs.get(storedEvent.getPayloadCodec());
+        if (codec == null) {
+            throw new IllegalStateException("Unknown event payload codec: " + storedEvent.getPayloadCodec());
+        }
+        return codec;
+    }
+
+    private JsonNode upcast(String eventType, JsonNode payload, int fromVersion, int toVersion) {
+        ObjectNode node = (ObjectNode) payload;
+        for (int version = fromVersion; version < toVersion; version++) {
+            EventUpcaster upcaster = upcasters.get(upcasterKey(eventType, version));
+            if (upcaster == null) {
+                throw new IllegalStateException(
+                        "No upcaster for " + eventType + " from schema version " + version);
+            }
+            node = upcaster.upcast(node);
+        }
+        return node;
+    }
+
+    private static String upcasterKey(String eventType, int fromVersion) {
+        return eventType + "@" + fromVersion;
+    }
+
     private String extractAggregateId(DomainEvent event) {
         return AggregateReference.extractId(event);
     }
@@ -49,4 +115,4 @@ public class EventSerializer {
     private String extractAggregateType(DomainEvent event) {
         return AggregateReference.extractType(event);
     }
-}
\ No newline at end of file
+}
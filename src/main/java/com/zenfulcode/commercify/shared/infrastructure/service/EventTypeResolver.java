@@ -9,7 +9,11 @@ import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class EventTypeResolver {
+    private static final int DEFAULT_SCHEMA_VERSION = 1;
+
     private final Map<String, Class<? extends DomainEvent>> eventTypeMap = new ConcurrentHashMap<>();
+    private final Map<Class<? extends DomainEvent>, String> eventTagMap = new ConcurrentHashMap<>();
+    private final Map<Class<? extends DomainEvent>, Integer> schemaVersionMap = new ConcurrentHashMap<>();
 
     public Class<? extends DomainEvent> resolveEventClass(String eventType) {
         return eventTypeMap.computeIfAbsent(eventType, type -> {
@@ -21,6 +25,19 @@ public class EventTypeResolver {
         });
     }
 
+    /**
+     * Returns the short type tag registered for the event class, or its fully qualified
+     * name for unregistered classes.
+     */
+    public String resolveEventType(Class<? extends DomainEvent> eventClass) {
+        String tag = eventTagMap.get(eventClass);
+        return tag != null ? tag : eventClass.getName();
+    }
+
+    public int resolveSchemaVersion(Class<? extends DomainEvent> eventClass) {
+        return schemaVersionMap.getOrDefault(eventClass, DEFAULT_SCHEMA_VERSION);
+    }
+
     @SuppressWarnings("unchecked")
     private Class<? extends DomainEvent> loadEventClass(String eventType) throws ClassNotFoundException {
         Class<?> loadedClass = Class.forName(eventType);
@@ -31,7 +48,15 @@ public class EventTypeResolver {
     }
 
     public void registerEventType(String eventType, Class<? extends DomainEvent> eventClass) {
+        registerEventType(eventType, eventClass, DEFAULT_SCHEMA_VERSION);
+    }
+
+    public void registerEventType(String eventType, Class<? extends DomainEvent> eventClass, int schemaVersion) {
         eventTypeMap.put(eventType, eventClass);
+        // Rows written before tags existed carry the class name
+        eventTypeMap.put(eventClass.getName(), eventClass);
+        eventTagMap.put(eventClass, eventType);
+        schemaVersionMap.put(eventClass, schemaVersion);
     }
 
     public boolean isRegistered(String eventType) {
@@ -40,5 +65,7 @@ public class EventTypeResolver {
 
     public void clearRegistrations() {
         eventTypeMap.clear();
+        eventTagMap.clear();
+        schemaVersionMap.clear();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,15 @@
+package com.zenfulcode.commercify.shared.infrastructure.service;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Migrates a stored event payload from one schema version to the next. Upcasters are
+ * chained on read until the payload reaches the version currently registered for the type.
+ */
+public interface EventUpcaster {
+    String eventType();
+
+    int fromVersion();
+
+    ObjectNode upcast(ObjectNode payload);
+}
@@ -0,0 +1,13 @@
+package com.zenfulcode.commercify.shared.infrastructure.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+@Component
+public class JsonEventPayloadCodec extends EventPayloadCodec {
+    public static final String NAME = "json";
+
+    public JsonEventPayloadCodec(ObjectMapper objectMapper) {
+        super(NAME, objectMapper);
+    }
+}
@@ -0,0 +1,22 @@
+package com.zenfulcode.commercify.shared.infrastructure.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binary JSON (Smile) codec. Shares the application's Jackson configuration, with
+ * back-references enabled so repeated field names and short values are written once.
+ */
+@Component
+public class SmileEventPayloadCodec extends EventPayloadCodec {
+    public static final String NAME = "smile";
+
+    public SmileEventPayloadCodec(ObjectMapper objectMapper) {
+        super(NAME, objectMapper.copyWith(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build()));
+    }
+}
@@ -4,7 +4,9 @@ import com.zenfulcode.commercify.shared.domain.exception.DomainException;
 import com.zenfulcode.commercify.shared.domain.exception.DomainForbiddenException;
 import com.zenfulcode.commercify.shared.domain.exception.DomainValidationException;
 import com.zenfulcode.commercify.shared.domain.exception.EntityNotFoundException;
+import com.zenfulcode.commercify.shared.domain.exception.ServiceUnavailableException;
 import com.zenfulcode.commercify.shared.interfaces.ApiResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -65,4 +67,16 @@ public class GlobalExceptionHandler {
         );
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
     }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponse<Void>> handleServiceUnavailable(ServiceUnavailableException ex) {
+        ApiResponse<Void> response = ApiResponse.error(
+                ex.getMessage(),
+                "SERVICE_UNAVAILABLE",
+                503
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
 }
@@ -18,6 +18,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
 import java.util.Set;
 
 @Service
@@ -94,6 +95,24 @@ public class UserApplicationService {
         updateUserStatus(new UpdateUserStatusCommand(userId, UserStatus.DEACTIVATED));
     }
 
+    /**
+     * Makes sure a guest session is backed by a user row, e.g. when the guest places an order
+     */
+    @Transactional
+    public void materializeGuest(UserId userId, String firstName, String lastName, String phone) {
+        User user = userDomainService.getOrCreateGuest(userId, firstName, lastName, phone);
+
+        eventPublisher.publish(user.getDomainEvents());
+    }
+
+    /**
+     * Finds a user by ID; guest sessions have no user row until they place an order
+     */
+    @Transactional(readOnly = true)
+    public Optional<User> findUser(UserId userId) {
+        return userDomainService.findUserById(userId);
+    }
+
     /**
      * Gets a user by ID
      */
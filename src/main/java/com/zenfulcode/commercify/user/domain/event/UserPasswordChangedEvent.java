@@ -0,0 +1,22 @@
+package com.zenfulcode.commercify.user.domain.event;
+
+import com.zenfulcode.commercify.shared.domain.event.DomainEvent;
+import com.zenfulcode.commercify.shared.domain.valueobject.AggregateId;
+import com.zenfulcode.commercify.user.domain.valueobject.UserId;
+import lombok.Getter;
+
+@Getter
+public class UserPasswordChangedEvent extends DomainEvent {
+    @AggregateId
+    private final UserId userId;
+
+    public UserPasswordChangedEvent(Object source, UserId userId) {
+        super(source);
+        this.userId = userId;
+    }
+
+    @Override
+    public String getEventType() {
+        return "USER_PASSWORD_CHANGED";
+    }
+}
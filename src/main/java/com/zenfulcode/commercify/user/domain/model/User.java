@@ -4,6 +4,8 @@ import com.zenfulcode.commercify.order.domain.model.Order;
 import com.zenfulcode.commercify.order.domain.model.OrderStatus;
 import com.zenfulcode.commercify.shared.domain.model.AggregateRoot;
 import com.zenfulcode.commercify.user.domain.event.UserCreatedEvent;
+import com.zenfulcode.commercify.user.domain.event.UserPasswordChangedEvent;
+import com.zenfulcode.commercify.user.domain.event.UserRolesChangedEvent;
 import com.zenfulcode.commercify.user.domain.event.UserStatusChangedEvent;
 import com.zenfulcode.commercify.user.domain.valueobject.UserId;
 import jakarta.persistence.*;
@@ -25,6 +27,8 @@ import java.util.Set;
         @UniqueConstraint(name = "uc_users_email", columnNames = {"email"})
 })
 public class User extends AggregateRoot {
+    private static final String UNUSABLE_PASSWORD = "!";
+
     @EmbeddedId
     private UserId id;
 
@@ -99,6 +103,35 @@ public class User extends AggregateRoot {
         return user;
     }
 
+    /**
+     * Materializes the user behind a guest session. Guests never sign in with a password,
+     * so the stored hash is a marker that no encoder will match.
+     */
+    public static User createGuest(UserId id, String firstName, String lastName, String phoneNumber) {
+        User user = new User();
+        user.id = Objects.requireNonNull(id, "User id is required");
+        user.email = guestEmail(id);
+        user.firstName = Objects.requireNonNull(firstName, "First name is required");
+        user.lastName = Objects.requireNonNull(lastName, "Last name is required");
+        user.password = UNUSABLE_PASSWORD;
+        user.status = UserStatus.PENDING;
+        user.roles = new HashSet<>(Set.of(UserRole.GUEST));
+        user.phoneNumber = phoneNumber;
+
+        user.registerEvent(new UserCreatedEvent(
+                user,
+                user.getId(),
+                user.getEmail(),
+                user.getStatus()
+        ));
+
+        return user;
+    }
+
+    public static String guestEmail(UserId id) {
+        return "guest-" + id + "@commercify.com";
+    }
+
     // Domain methods
     public void updateProfile(String firstName, String lastName) {
         if (firstName != null) {
@@ -119,6 +152,14 @@ public class User extends AggregateRoot {
 
     public void updatePassword(String newPassword) {
         this.password = Objects.requireNonNull(newPassword, "Password is required");
+        registerEvent(new UserPasswordChangedEvent(this, this.id));
+    }
+
+    /**
+     * Replaces the stored hash of the same password, e.g. after a hashing cost change.
+     */
+    public void rehashPassword(String newHash) {
+        this.password = Objects.requireNonNull(newHash, "Password is required");
     }
 
     public void updateStatus(UserStatus newStatus) {
@@ -138,6 +179,7 @@ public class User extends AggregateRoot {
             throw new IllegalArgumentException("User must have at least one role");
         }
         this.roles = new HashSet<>(newRoles);
+        registerEvent(new UserRolesChangedEvent(this, this.id));
     }
 
     public void recordLogin() {
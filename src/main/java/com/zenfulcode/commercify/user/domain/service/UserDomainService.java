@@ -3,6 +3,7 @@ package com.zenfulcode.commercify.user.domain.service;
 import com.zenfulcode.commercify.user.domain.exception.UserAlreadyExistsException;
 import com.zenfulcode.commercify.user.domain.exception.UserNotFoundException;
 import com.zenfulcode.commercify.user.domain.model.User;
+import com.zenfulcode.commercify.user.domain.model.UserRole;
 import com.zenfulcode.commercify.user.domain.model.UserStatus;
 import com.zenfulcode.commercify.user.domain.repository.UserRepository;
 import com.zenfulcode.commercify.user.domain.valueobject.UserDeletionValidation;
@@ -19,6 +20,8 @@ import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -53,6 +56,19 @@ public class UserDomainService {
         return userRepository.save(user);
     }
 
+    /**
+     * Returns the user behind a guest session, creating the row on first use
+     */
+    public User getOrCreateGuest(UserId userId, String firstName, String lastName, String phone) {
+        return userRepository.findById(userId).orElseGet(() -> {
+            // Keep the new instance: save() merges entities with an assigned id and the
+            // merged copy does not carry the registered events
+            User guest = User.createGuest(userId, firstName, lastName, phone);
+            userRepository.save(guest);
+            return guest;
+        });
+    }
+
     /**
      * Updates user status with validation
      */
@@ -103,6 +119,14 @@ public class UserDomainService {
         userRepository.save(user);
     }
 
+    /**
+     * Replaces the user's roles
+     */
+    public void updateUserRoles(User user, Set<UserRole> roles) {
+        user.updateRoles(roles);
+        userRepository.save(user);
+    }
+
     /**
      * Validates if a user can be deleted
      */
@@ -148,6 +172,10 @@ public class UserDomainService {
                 .orElseThrow(() -> new UserNotFoundException(userId));
     }
 
+    public Optional<User> findUserById(UserId userId) {
+        return userRepository.findById(userId);
+    }
+
     public User getUserByEmail(String email) {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException("User not found with email", email));
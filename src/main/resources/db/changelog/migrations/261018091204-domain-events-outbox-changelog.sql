@@ -0,0 +1,13 @@
+-- liquibase formatted sql
+
+-- changeset gkhaavik:1792314724000-1
+ALTER TABLE domain_events
+    ADD dispatched_at datetime NULL;
+
+-- changeset gkhaavik:1792314724000-2
+UPDATE domain_events
+SET dispatched_at = occurred_on
+WHERE dispatched_at IS NULL;
+
+-- changeset gkhaavik:1792314724000-3
+CREATE INDEX idx_domain_events_dispatch ON domain_events (dispatched_at, occurred_on);
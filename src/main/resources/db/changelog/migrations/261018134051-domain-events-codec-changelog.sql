@@ -0,0 +1,13 @@
+-- liquibase formatted sql
+
+-- changeset gkhaavik:1792330851000-1
+ALTER TABLE domain_events
+    MODIFY event_data LONGBLOB NOT NULL;
+
+-- changeset gkhaavik:1792330851000-2
+ALTER TABLE domain_events
+    ADD payload_codec VARCHAR(16) NOT NULL DEFAULT 'json';
+
+-- changeset gkhaavik:1792330851000-3
+ALTER TABLE domain_events
+    ADD schema_version INT NOT NULL DEFAULT 1;
@@ -0,0 +1,10 @@
+-- liquibase formatted sql
+
+-- changeset gkhaavik:1792336957000-1
+CREATE INDEX idx_domain_events_replay ON domain_events (occurred_on, event_id);
+
+-- changeset gkhaavik:1792336957000-2
+CREATE INDEX idx_domain_events_type_replay ON domain_events (event_type, occurred_on, event_id);
+
+-- changeset gkhaavik:1792336957000-3
+CREATE INDEX idx_domain_events_aggregate ON domain_events (aggregate_id, aggregate_type, occurred_on);
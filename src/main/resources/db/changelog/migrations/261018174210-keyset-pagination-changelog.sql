@@ -0,0 +1,13 @@
+-- liquibase formatted sql
+
+-- changeset gkhaavik:1792345330000-1
+CREATE INDEX idx_products_created_at_id ON products (created_at, id);
+
+-- changeset gkhaavik:1792345330000-2
+CREATE INDEX idx_products_active_created_at_id ON products (active, created_at, id);
+
+-- changeset gkhaavik:1792345330000-3
+CREATE INDEX idx_products_category_created_at_id ON products (category_id, created_at, id);
+
+-- changeset gkhaavik:1792345330000-4
+CREATE INDEX idx_orders_created_at_id ON orders (created_at, id);
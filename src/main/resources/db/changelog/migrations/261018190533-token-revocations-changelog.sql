@@ -0,0 +1,13 @@
+-- liquibase formatted sql
+
+-- changeset gkhaavik:1792350333000-1
+CREATE TABLE user_token_revocations
+(
+    user_id        VARCHAR(255) NOT NULL,
+    revoked_before datetime     NOT NULL,
+    updated_at     datetime(6)  NOT NULL,
+    CONSTRAINT pk_user_token_revocations PRIMARY KEY (user_id)
+);
+
+-- changeset gkhaavik:1792350333000-2
+CREATE INDEX idx_user_token_revocations_updated ON user_token_revocations (updated_at);
@@ -0,0 +1,19 @@
+-- liquibase formatted sql
+
+-- changeset gkhaavik:1792355505000-1
+-- One row per UTC day and dimension; '' in category_id or region means "all"
+CREATE TABLE daily_sales_metrics
+(
+    category_id       VARCHAR(255)   NOT NULL,
+    region            VARCHAR(255)   NOT NULL,
+    metric_date       date           NOT NULL,
+    order_count       INT            NOT NULL DEFAULT 0,
+    completed_revenue DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    new_product_count INT            NOT NULL DEFAULT 0,
+    new_user_count    INT            NOT NULL DEFAULT 0,
+    refreshed_at      datetime(6)    NOT NULL,
+    CONSTRAINT pk_daily_sales_metrics PRIMARY KEY (category_id, region, metric_date)
+);
+
+-- changeset gkhaavik:1792355505000-2
+CREATE INDEX idx_users_created_at ON users (created_at);
@@ -0,0 +1,10 @@
+-- liquibase formatted sql
+
+-- changeset gkhaavik:1792357928000-1
+-- Denominator for the average order value in metric series
+ALTER TABLE daily_sales_metrics
+    ADD completed_order_count INT NOT NULL DEFAULT 0 AFTER order_count;
+
+-- changeset gkhaavik:1792357928000-2
+-- Existing buckets lack the new column; the rollup reconcile backfills them again
+DELETE FROM daily_sales_metrics;
@@ -0,0 +1,23 @@
+-- liquibase formatted sql
+
+-- changeset gkhaavik:1792360110000-1
+CREATE TABLE email_outbox
+(
+    id              VARCHAR(255)  NOT NULL,
+    dedup_key       VARCHAR(255)  NULL,
+    recipient       VARCHAR(255)  NOT NULL,
+    subject         VARCHAR(998)  NOT NULL,
+    body            MEDIUMTEXT    NOT NULL,
+    html            BIT(1)        NOT NULL,
+    status          VARCHAR(20)   NOT NULL,
+    attempts        INT           NOT NULL DEFAULT 0,
+    next_attempt_at datetime(6)   NOT NULL,
+    last_error      VARCHAR(1000) NULL,
+    created_at      datetime(6)   NOT NULL,
+    sent_at         datetime(6)   NULL,
+    CONSTRAINT pk_email_outbox PRIMARY KEY (id),
+    CONSTRAINT uc_email_outbox_dedup_key UNIQUE (dedup_key)
+);
+
+-- changeset gkhaavik:1792360110000-2
+CREATE INDEX idx_email_outbox_due ON email_outbox (status, next_attempt_at);
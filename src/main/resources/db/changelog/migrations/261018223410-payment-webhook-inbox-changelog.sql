@@ -0,0 +1,26 @@
+-- liquibase formatted sql
+
+-- changeset gkhaavik:1792362850000-1
+CREATE TABLE payment_webhook_inbox
+(
+    id                BIGINT AUTO_INCREMENT NOT NULL,
+    provider          VARCHAR(50)   NOT NULL,
+    event_id          VARCHAR(255)  NOT NULL,
+    payment_reference VARCHAR(255)  NOT NULL,
+    event_type        VARCHAR(100)  NULL,
+    payload           MEDIUMTEXT    NOT NULL,
+    status            VARCHAR(20)   NOT NULL,
+    attempts          INT           NOT NULL DEFAULT 0,
+    next_attempt_at   datetime(6)   NOT NULL,
+    last_error        VARCHAR(1000) NULL,
+    received_at       datetime(6)   NOT NULL,
+    processed_at      datetime(6)   NULL,
+    CONSTRAINT pk_payment_webhook_inbox PRIMARY KEY (id),
+    CONSTRAINT uc_payment_webhook_inbox_event UNIQUE (provider, event_id)
+);
+
+-- changeset gkhaavik:1792362850000-2
+CREATE INDEX idx_payment_webhook_inbox_due ON payment_webhook_inbox (status, next_attempt_at);
+
+-- changeset gkhaavik:1792362850000-3
+CREATE INDEX idx_payment_webhook_inbox_payment ON payment_webhook_inbox (payment_reference, status, id);
@@ -0,0 +1,4 @@
+-- liquibase formatted sql
+
+-- changeset gkhaavik:1792364712000-1
+CREATE INDEX idx_payments_status_created ON payments (status, created_at);
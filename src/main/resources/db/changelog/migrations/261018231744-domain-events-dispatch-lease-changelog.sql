@@ -0,0 +1,5 @@
+-- liquibase formatted sql
+
+-- changeset gkhaavik:1792365464000-1
+ALTER TABLE domain_events
+    ADD dispatch_lease_until datetime NULL;
@@ -0,0 +1,5 @@
+-- liquibase formatted sql
+
+-- changeset gkhaavik:1792366220000-1
+-- Revenue moved from total_amount to subtotal; the rollup fills the days in again
+DELETE FROM daily_sales_metrics;